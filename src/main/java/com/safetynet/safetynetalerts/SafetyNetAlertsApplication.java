@@ -2,6 +2,7 @@ package com.safetynet.safetynetalerts;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 /**
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Cette application gère les alertes de sécurité pour les habitants d'une communauté.
  */
 @SpringBootApplication
+@EnableScheduling
 public class SafetyNetAlertsApplication {
 
 	/**
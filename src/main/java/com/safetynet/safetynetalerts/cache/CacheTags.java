@@ -0,0 +1,139 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.index.Keys;
+import com.safetynet.safetynetalerts.index.NameKey;
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.json.WalEntry;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.Person;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Étiquettes des données dont dépendent les réponses mises en cache, et calcul des étiquettes touchées
+ * par une écriture. Les valeurs sont normalisées comme les clés des index ({@link Keys}).
+ */
+public final class CacheTags {
+
+    private static final String ADDRESS = "address:";
+    private static final String STATION = "station:";
+    private static final String CITY = "city:";
+    private static final String LAST_NAME = "lastName:";
+    private static final String LAST_NAME_PREFIX = "lastNamePrefix:";
+    private static final String ENTITY = "entity:";
+
+    private CacheTags() {
+    }
+
+    public static String address(String address) {
+        return ADDRESS + Keys.normalize(address);
+    }
+
+    public static String station(String station) {
+        return STATION + Keys.normalize(station);
+    }
+
+    public static String city(String city) {
+        return CITY + Keys.normalize(city);
+    }
+
+    public static String lastName(String lastName) {
+        return LAST_NAME + Keys.fold(lastName);
+    }
+
+    public static String lastNamePrefix(String prefix) {
+        return LAST_NAME_PREFIX + Keys.fold(prefix);
+    }
+
+    public static String entity(WalEntry.EntityType entity) {
+        return ENTITY + entity.name();
+    }
+
+    /**
+     * Renvoie le nom de famille normalisé d'une étiquette de nom de famille.
+     *
+     * @param tag une étiquette.
+     * @return le nom de famille, ou {@code null} s'il ne s'agit pas d'une étiquette de nom de famille.
+     */
+    static String lastNameOf(String tag) {
+        return tag.startsWith(LAST_NAME) ? tag.substring(LAST_NAME.length()) : null;
+    }
+
+    /**
+     * Calcule les étiquettes des données touchées par des mutations, d'après l'instantané avant et après
+     * leur application : adresse, ville, nom de famille et caserne des personnes concernées (avant et après),
+     * adresse et casernes (ancienne et nouvelle) d'une affectation de caserne, ainsi que la liste complète
+     * de l'entité modifiée.
+     *
+     * @param previous instantané avant les mutations.
+     * @param current  instantané après les mutations.
+     * @param entries  les mutations appliquées.
+     * @return les étiquettes touchées.
+     */
+    public static Set<String> changedBy(Dataset previous, Dataset current, List<WalEntry> entries) {
+        Set<String> tags = new HashSet<>();
+        for (WalEntry entry : entries) {
+            tags.add(entity(entry.getEntity()));
+            switch (entry.getEntity()) {
+                case PERSON -> {
+                    tagPersons(tags, previous, current, entry.getFirstName(), entry.getLastName(), true);
+                    if (entry.getPerson() != null) {
+                        tagPersons(tags, previous, current, entry.getPerson().getFirstName(), entry.getPerson().getLastName(), true);
+                    }
+                }
+                case MEDICALRECORD -> {
+                    // Seuls les âges, traitements et allergies changent : les emails par ville ne sont pas touchés
+                    tagPersons(tags, previous, current, entry.getFirstName(), entry.getLastName(), false);
+                    if (entry.getMedicalRecord() != null) {
+                        tagPersons(tags, previous, current, entry.getMedicalRecord().getFirstName(),
+                                entry.getMedicalRecord().getLastName(), false);
+                    }
+                }
+                case FIRESTATION -> {
+                    tagFireStations(tags, previous, entry.getAddress());
+                    tagFireStations(tags, current, entry.getAddress());
+                }
+            }
+        }
+        return tags;
+    }
+
+    private static void tagPersons(Set<String> tags, Dataset previous, Dataset current, String firstName, String lastName,
+                                   boolean withCity) {
+        tags.add(lastName(lastName));
+        NameKey name = NameKey.of(firstName, lastName);
+        for (Dataset dataset : List.of(previous, current)) {
+            for (Person person : dataset.findPersonsByLastName(lastName)) {
+                if (!NameKey.of(person.getFirstName(), person.getLastName()).equals(name)) {
+                    continue;
+                }
+                tags.add(address(person.getAddress()));
+                tags.add(lastName(person.getLastName()));
+                if (withCity) {
+                    tags.add(city(person.getCity()));
+                }
+                // Les casernes de l'adresse peuvent avoir changé dans le même lot : les deux instantanés comptent
+                tagStations(tags, previous, person.getAddress());
+                tagStations(tags, current, person.getAddress());
+            }
+        }
+    }
+
+    private static void tagFireStations(Set<String> tags, Dataset dataset, String address) {
+        tags.add(address(address));
+        tagStations(tags, dataset, address);
+    }
+
+    /**
+     * Ajoute les étiquettes de toutes les casernes desservant l'adresse, une adresse pouvant en avoir plusieurs.
+     */
+    private static void tagStations(Set<String> tags, Dataset dataset, String address) {
+        for (FireStation fireStation : dataset.findFireStationsByAddress(address)) {
+            if (fireStation.getStation() != null) {
+                tags.add(station(fireStation.getStation()));
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.index.Keys;
+import com.safetynet.safetynetalerts.json.WalEntry;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Alertes et listes en lecture seule dont les réponses sont mises en cache, avec pour chacune la clé de cache
+ * (chemin et paramètres normalisés) et les étiquettes des données dont dépend la réponse.
+ * <p>
+ * Un paramètre n'est normalisé que si la réponse ne le reprend pas : la ville de {@code /communityEmail},
+ * renvoyée telle quelle, fait partie de la clé sans normalisation.
+ */
+public enum CacheableEndpoint {
+
+    FIRE("/fire") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String address = parameters.apply("address");
+            return address == null ? null : new Key(Keys.normalize(address), Set.of(CacheTags.address(address)));
+        }
+    },
+    CHILD_ALERT("/childAlert") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String address = parameters.apply("address");
+            return address == null ? null : new Key(Keys.normalize(address), Set.of(CacheTags.address(address)));
+        }
+    },
+    PHONE_ALERT("/phoneAlert") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String station = parameters.apply("firestation");
+            return station == null ? null : new Key(Keys.normalize(station), Set.of(CacheTags.station(station)));
+        }
+    },
+    FIRE_STATION_COVERAGE("/firestation") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String station = parameters.apply("stationNumber");
+            return station == null ? null : new Key(Keys.normalize(station), Set.of(CacheTags.station(station)));
+        }
+    },
+    FLOOD_STATIONS("/flood/stations") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String stations = parameters.apply("stations");
+            if (stations == null || stations.trim().isEmpty()) {
+                return null;
+            }
+            // L'ordre des casernes est conservé : il détermine l'ordre des adresses dans la réponse
+            List<String> normalized = Arrays.stream(stations.split(",")).map(Keys::normalize).toList();
+            Set<String> tags = new LinkedHashSet<>();
+            normalized.forEach(station -> tags.add(CacheTags.station(station)));
+            return new Key(String.join(",", normalized), tags);
+        }
+    },
+    PERSON_INFO("/personInfo") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String lastName = parameters.apply("lastName");
+            String prefix = parameters.apply("prefix");
+            if (lastName == null) {
+                return null;
+            }
+            if (prefix == null || prefix.equalsIgnoreCase("false")) {
+                return new Key(Keys.fold(lastName), Set.of(CacheTags.lastName(lastName)));
+            }
+            if (prefix.equalsIgnoreCase("true")) {
+                return new Key("prefix:" + Keys.fold(lastName), Set.of(CacheTags.lastNamePrefix(lastName)));
+            }
+            return null; // Autres écritures d'un booléen : laissées au contrôleur
+        }
+    },
+    COMMUNITY_EMAIL("/communityEmail") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            String city = parameters.apply("city");
+            return city == null ? null : new Key(city, Set.of(CacheTags.city(city)));
+        }
+    },
+    PERSONS("/person") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            return new Key("", Set.of(CacheTags.entity(WalEntry.EntityType.PERSON)));
+        }
+    },
+    FIRE_STATIONS("/firestation") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            return new Key("", Set.of(CacheTags.entity(WalEntry.EntityType.FIRESTATION)));
+        }
+    },
+    MEDICAL_RECORDS("/medicalRecord") {
+        @Override
+        Key key(Function<String, String> parameters) {
+            return new Key("", Set.of(CacheTags.entity(WalEntry.EntityType.MEDICALRECORD)));
+        }
+    };
+
+    private final String path;
+
+    CacheableEndpoint(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Calcule la clé de cache et les étiquettes d'une requête GET. Pour un même chemin, la première alerte
+     * dont les paramètres sont présents l'emporte ({@code /firestation?stationNumber=} avant la liste des casernes).
+     *
+     * @param path       chemin de la requête (sans le contexte de l'application).
+     * @param parameters accès aux paramètres de la requête.
+     * @return la clé, ou {@code null} si la requête ne correspond à aucune alerte mise en cache
+     *         ou qu'un paramètre requis manque.
+     */
+    public static Key resolve(String path, Function<String, String> parameters) {
+        for (CacheableEndpoint endpoint : values()) {
+            Key key = endpoint.path.equals(path) ? endpoint.key(parameters) : null;
+            if (key != null) {
+                return new Key(endpoint.name() + "?" + key.value(), key.tags());
+            }
+        }
+        return null;
+    }
+
+    abstract Key key(Function<String, String> parameters);
+
+    /**
+     * Clé de cache d'une requête.
+     *
+     * @param value clé : alerte et paramètres normalisés.
+     * @param tags  étiquettes des données dont dépend la réponse.
+     */
+    public record Key(String value, Set<String> tags) {
+    }
+}
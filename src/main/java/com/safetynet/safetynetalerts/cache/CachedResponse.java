@@ -0,0 +1,53 @@
+package com.safetynet.safetynetalerts.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponse mise en cache : corps déjà sérialisé (JSON encodé en UTF-8), éventuellement accompagné de sa version
+ * compressée, écrits tels quels dans le flux de la réponse.
+ *
+ * @param body        corps de la réponse.
+ * @param gzipped     corps compressé au format gzip, ou {@code null} s'il n'a pas été compressé.
+ * @param contentType type de contenu, ou {@code null}.
+ */
+public record CachedResponse(byte[] body, byte[] gzipped, String contentType) {
+
+    /**
+     * Prépare une réponse à mettre en cache, compressée une fois pour toutes si son corps atteint la taille
+     * minimale et que la compression le réduit.
+     *
+     * @param body        corps de la réponse.
+     * @param contentType type de contenu, ou {@code null}.
+     * @param gzipMinSize taille minimale du corps à compresser, en octets ; négative pour ne jamais compresser.
+     * @return la réponse.
+     */
+    public static CachedResponse of(byte[] body, String contentType, long gzipMinSize) {
+        if (gzipMinSize < 0 || body.length < gzipMinSize) {
+            return new CachedResponse(body, null, contentType);
+        }
+        byte[] gzipped = gzip(body);
+        return new CachedResponse(body, gzipped.length < body.length ? gzipped : null, contentType);
+    }
+
+    /**
+     * Renvoie le poids de la réponse dans le cache.
+     *
+     * @return la taille du corps et de sa version compressée, en octets.
+     */
+    public int weight() {
+        return body.length + (gzipped == null ? 0 : gzipped.length);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Impossible en mémoire
+        }
+        return out.toByteArray();
+    }
+}
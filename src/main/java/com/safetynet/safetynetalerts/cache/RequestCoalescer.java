@@ -0,0 +1,133 @@
+package com.safetynet.safetynetalerts.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regroupe les requêtes identiques simultanées absentes du cache : une seule calcule la réponse,
+ * les autres attendent et la partagent.
+ * <p>
+ * Un calcul n'est partagé qu'entre requêtes arrivées dans la même génération du {@link ResponseCache} :
+ * une requête arrivée après une écriture ne reçoit jamais une réponse calculée avant celle-ci.
+ * <p>
+ * L'attente est bornée : une requête dont le calcul partagé n'aboutit pas à temps (calcul bloqué ou très lent)
+ * calcule sa propre réponse plutôt que d'immobiliser son thread.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final long timeoutNanos;
+
+    /**
+     * Crée le regroupement des requêtes.
+     *
+     * @param timeout durée maximale d'attente du calcul d'une autre requête.
+     */
+    public RequestCoalescer(Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Rejoint le calcul en cours d'une requête, ou en démarre un.
+     *
+     * @param key        clé de la requête.
+     * @param generation génération du cache relevée à l'arrivée de la requête.
+     * @return le calcul ; {@link Flight#lead()} indique si l'appelant doit l'effectuer.
+     */
+    public Flight join(String key, long generation) {
+        return flights.compute(key, (k, current) ->
+                current != null && current.generation == generation ? current : new Flight(key, generation));
+    }
+
+    /**
+     * Termine un calcul et transmet son résultat aux requêtes en attente.
+     *
+     * @param flight   le calcul effectué par l'appelant.
+     * @param response la réponse, ou {@code null} si elle n'est pas partageable (erreur) : chaque requête
+     *                 en attente calcule alors la sienne.
+     */
+    public void complete(Flight flight, CachedResponse response) {
+        flights.remove(flight.key, flight); // Les requêtes suivantes trouveront la réponse dans le cache
+        flight.result.complete(response);
+    }
+
+    /**
+     * Renvoie le nombre de requêtes ayant partagé le calcul d'une autre.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Renvoie le nombre de requêtes ayant renoncé à attendre le calcul d'une autre.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Renvoie le nombre de calculs en cours.
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    /**
+     * Calcul en cours d'une réponse.
+     */
+    public final class Flight {
+
+        private final String key;
+        private final long generation;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<CachedResponse> result = new CompletableFuture<>();
+
+        private Flight(String key, long generation) {
+            this.key = key;
+            this.generation = generation;
+        }
+
+        /**
+         * Attribue le calcul à la première requête qui le demande.
+         *
+         * @return true si l'appelant doit effectuer le calcul puis appeler {@link #complete}, false s'il doit
+         *         attendre le résultat ({@link #await()}).
+         */
+        public boolean lead() {
+            if (claimed.compareAndSet(false, true)) {
+                return true;
+            }
+            coalesced.increment();
+            return false;
+        }
+
+        /**
+         * Attend le résultat du calcul, au plus la durée configurée.
+         *
+         * @return la réponse, ou {@code null} si elle n'est pas partageable ou n'a pas été calculée à temps :
+         *         l'appelant calcule alors la sienne.
+         */
+        public CachedResponse await() {
+            try {
+                return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                timeouts.increment();
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null; // Jamais complété en erreur (voir complete)
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.safetynet.safetynetalerts.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache borné des réponses des alertes, invalidé précisément par étiquettes.
+ * <p>
+ * Chaque réponse porte les étiquettes des données dont elle dépend (adresse, caserne, ville, nom de famille,
+ * voir {@link CacheTags}) ; une écriture n'invalide que les réponses portant une des étiquettes qu'elle touche.
+ * Les réponses les moins récemment utilisées sont évincées au-delà d'un nombre d'entrées ou d'une taille totale.
+ * <p>
+ * Une réponse calculée pendant une écriture pourrait refléter les données d'avant l'écriture : chaque
+ * invalidation incrémente une génération, et une réponse n'est conservée que si aucune invalidation n'a eu lieu
+ * depuis le début de son calcul ({@link #generation()}).
+ * <p>
+ * Chaque étiquette a aussi un numéro de version, incrémenté à chacune de ses invalidations, et le cache une époque,
+ * incrémentée lorsqu'il est vidé : l'ETag d'une réponse en découle ({@link #etag(String, Set)}), si bien qu'une requête
+ * conditionnelle peut être résolue sans calculer la réponse ni même l'avoir en cache.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // Ordre d'accès (LRU)
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private final Map<String, Long> tagVersions = new HashMap<>(); // Étiquettes invalidées depuis le dernier vidage
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong()); // Distingue les redémarrages
+    private long weight;
+    private long generation;
+    private long epoch;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long notModified;
+
+    /**
+     * Crée un cache vide.
+     *
+     * @param maxEntries nombre maximal de réponses.
+     * @param maxWeight  taille totale maximale des réponses, en octets.
+     */
+    public ResponseCache(int maxEntries, long maxWeight) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Renvoie la génération courante, à relever avant de calculer une réponse à mettre en cache.
+     *
+     * @return le nombre d'invalidations depuis la création du cache.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Calcule l'ETag (sans guillemets) d'une requête pour la version courante des données portant ces étiquettes.
+     * Les versions ne faisant que croître, leur somme change à chaque invalidation de l'une des étiquettes.
+     *
+     * @param key  clé de la requête, distinguant les ETags des différentes requêtes.
+     * @param tags étiquettes des données dont dépend la réponse.
+     * @return l'ETag.
+     */
+    public synchronized String etag(String key, Set<String> tags) {
+        long version = 0;
+        for (String tag : tags) {
+            version += tagVersions.getOrDefault(tag, 0L);
+        }
+        return instance + "-" + Integer.toHexString(key.hashCode()) + "-" + epoch + "-" + version;
+    }
+
+    /**
+     * Compte une requête conditionnelle résolue sans renvoyer la réponse ({@code 304 Not Modified}).
+     */
+    public synchronized void countNotModified() {
+        notModified++;
+    }
+
+    /**
+     * Recherche une réponse.
+     *
+     * @param key clé de la requête.
+     * @return la réponse, ou {@code null} si elle n'est pas en cache.
+     */
+    public synchronized CachedResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    /**
+     * Conserve une réponse, sauf si une invalidation a eu lieu depuis la génération relevée avant son calcul
+     * ou si elle dépasse à elle seule la taille maximale.
+     *
+     * @param key        clé de la requête.
+     * @param tags       étiquettes des données dont dépend la réponse.
+     * @param response   la réponse.
+     * @param generation génération relevée avant le calcul de la réponse.
+     * @return true si la réponse a été conservée.
+     */
+    public synchronized boolean put(String key, Set<String> tags, CachedResponse response, long generation) {
+        if (generation != this.generation || response.weight() > maxWeight) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, new Entry(response, tags));
+        weight += response.weight();
+        tags.forEach(tag -> keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key));
+        evict();
+        return true;
+    }
+
+    /**
+     * Invalide les réponses portant une des étiquettes, et pour un nom de famille les recherches par préfixe
+     * correspondantes.
+     *
+     * @param tags étiquettes des données modifiées.
+     */
+    public synchronized void invalidate(Set<String> tags) {
+        generation++;
+        for (String tag : tags) {
+            invalidateTag(tag);
+            String lastName = CacheTags.lastNameOf(tag);
+            if (lastName != null) {
+                for (int length = 1; length <= lastName.length(); length++) {
+                    invalidateTag(CacheTags.lastNamePrefix(lastName.substring(0, length)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalide toutes les réponses (par exemple au changement de date, les âges ayant changé).
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        epoch++;
+        entries.clear();
+        keysByTag.clear();
+        tagVersions.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public synchronized long notModified() {
+        return notModified;
+    }
+
+    private void invalidateTag(String tag) {
+        tagVersions.merge(tag, 1L, Long::sum);
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            keys.forEach(this::remove);
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        weight -= entry.response.weight();
+        for (String tag : entry.tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Évince les réponses les moins récemment utilisées tant que le nombre ou la taille maximale est dépassé.
+     */
+    private void evict() {
+        while ((entries.size() > maxEntries || weight > maxWeight) && !entries.isEmpty()) {
+            remove(entries.keySet().iterator().next());
+            evictions++;
+        }
+    }
+
+    private record Entry(CachedResponse response, Set<String> tags) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Met en place le cache des réponses des alertes lorsque {@code safetynet.cache.enabled} est actif (par défaut).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "safetynet.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfiguration {
+
+    /**
+     * Déclare le cache et l'abonne aux publications des instantanés pour son invalidation.
+     *
+     * @param properties     paramètres du cache.
+     * @param jsonFileWriter détenteur de l'instantané des données.
+     * @return le cache des réponses.
+     */
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties, JsonFileWriter jsonFileWriter) {
+        ResponseCache cache = new ResponseCache(properties.getMaxEntries(), properties.getMaxWeight().toBytes());
+        jsonFileWriter.addChangeListener(new ResponseCacheInvalidator(cache));
+        return cache;
+    }
+
+    /**
+     * Déclare le regroupement des requêtes identiques simultanées.
+     *
+     * @param properties paramètres du cache.
+     * @return le regroupement des requêtes.
+     */
+    @Bean
+    public RequestCoalescer requestCoalescer(ResponseCacheProperties properties) {
+        return new RequestCoalescer(properties.getCoalesceTimeout());
+    }
+
+    /**
+     * Déclare le filtre {@link ResponseCacheFilter}, placé juste avant le filtre qui épingle l'instantané.
+     *
+     * @param cache      le cache des réponses.
+     * @param coalescer  regroupement des requêtes identiques simultanées.
+     * @param properties paramètres du cache.
+     * @return l'enregistrement du filtre.
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache cache, RequestCoalescer coalescer,
+                                                                           ResponseCacheProperties properties) {
+        long gzipMinSize = properties.isGzip() ? properties.getGzipMinSize().toBytes() : -1;
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(cache, coalescer, gzipMinSize));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /**
+     * Déclare les métriques du cache.
+     *
+     * @param cache     le cache des réponses.
+     * @param coalescer regroupement des requêtes identiques simultanées.
+     * @return le binder des métriques.
+     */
+    @Bean
+    public ResponseCacheMetrics responseCacheMetrics(ResponseCache cache, RequestCoalescer coalescer) {
+        return new ResponseCacheMetrics(cache, coalescer);
+    }
+
+    /**
+     * Déclare le préchauffage du cache au démarrage, lorsque {@code safetynet.cache.warm-up} est actif.
+     *
+     * @param jsonFileWriter     détenteur de l'instantané des données.
+     * @param applicationContext contexte de l'application, pour le port du serveur HTTP.
+     * @param properties         paramètres du cache.
+     * @return le préchauffage.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "safetynet.cache", name = "warm-up", havingValue = "true")
+    public ResponseCacheWarmer responseCacheWarmer(JsonFileWriter jsonFileWriter, ApplicationContext applicationContext,
+                                                   ResponseCacheProperties properties) {
+        return new ResponseCacheWarmer(jsonFileWriter, applicationContext, properties.getWarmUpThreads());
+    }
+}
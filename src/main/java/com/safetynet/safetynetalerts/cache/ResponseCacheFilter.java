@@ -0,0 +1,194 @@
+package com.safetynet.safetynetalerts.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Locale;
+
+/**
+ * Sert les alertes en lecture seule depuis le {@link ResponseCache} et y conserve les réponses réussies.
+ * Une réponse en cache est écrite directement dans le flux, sans nouvelle sérialisation des DTO, et dans sa
+ * version compressée si le client accepte gzip.
+ * <p>
+ * Chaque réponse porte un ETag fort issu des versions des données dont elle dépend ({@link ResponseCache#etag}) :
+ * une requête dont l'en-tête {@code If-None-Match} correspond reçoit {@code 304 Not Modified} sans que la réponse
+ * soit calculée ni sérialisée. La version compressée a son propre ETag (suffixe {@code -gz}).
+ * <p>
+ * Placé avant le filtre qui épingle l'instantané des données : la génération du cache est relevée avant
+ * que la réponse ne soit calculée, si bien qu'une réponse calculée sur un instantané remplacé entre-temps
+ * n'est pas conservée.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private final ResponseCache cache;
+    private final RequestCoalescer coalescer;
+    private final long gzipMinSize;
+
+    /**
+     * Crée le filtre.
+     *
+     * @param cache       le cache des réponses.
+     * @param coalescer   regroupement des requêtes identiques simultanées.
+     * @param gzipMinSize taille minimale d'une réponse pour qu'elle soit conservée compressée, en octets ;
+     *                    négative pour ne jamais compresser.
+     */
+    public ResponseCacheFilter(ResponseCache cache, RequestCoalescer coalescer, long gzipMinSize) {
+        this.cache = cache;
+        this.coalescer = coalescer;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Un paramètre répété est concaténé par Spring : la requête est laissée au contrôleur
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getParameterMap().values().stream().anyMatch(values -> values.length > 1);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        CacheableEndpoint.Key key = CacheableEndpoint.resolve(path, request::getParameter);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (gzipMinSize >= 0) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING); // La réponse en cache peut être compressée
+        }
+        long generation = cache.generation();
+        String etag = cache.etag(key.value(), key.tags());
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+            cache.countNotModified();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, quoted(etag));
+            return;
+        }
+        CachedResponse cached = cache.get(key.value());
+        if (cached != null) {
+            write(cached, acceptsGzip(request), etag, response);
+            return;
+        }
+        RequestCoalescer.Flight flight = coalescer.join(key.value(), generation);
+        if (!flight.lead()) {
+            CachedResponse shared = flight.await();
+            if (shared != null) {
+                write(shared, acceptsGzip(request), cache.generation() == generation ? etag : null, response);
+            } else {
+                compute(request, response, filterChain, key, generation, etag);
+            }
+            return;
+        }
+        CachedResponse computed = null;
+        try {
+            computed = compute(request, response, filterChain, key, generation, etag);
+        } finally {
+            coalescer.complete(flight, computed);
+        }
+    }
+
+    /**
+     * Calcule la réponse et la conserve en cache si elle est réussie.
+     *
+     * @return la réponse réussie, ou {@code null}.
+     */
+    private CachedResponse compute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                   CacheableEndpoint.Key key, long generation, String etag)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+                return null;
+            }
+            CachedResponse computed = CachedResponse.of(wrapper.getContentAsByteArray(), wrapper.getContentType(), gzipMinSize);
+            cache.put(key.value(), key.tags(), computed, generation);
+            if (cache.generation() == generation) {
+                // Aucune invalidation pendant le calcul : la réponse correspond bien à l'ETag relevé avant
+                wrapper.setHeader(HttpHeaders.ETAG, quoted(etag));
+            }
+            return computed;
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Écrit une réponse en cache, dans sa version compressée si elle existe et que le client l'accepte,
+     * avec son ETag s'il est connu.
+     */
+    private static void write(CachedResponse cached, boolean gzip, String etag, HttpServletResponse response)
+            throws IOException {
+        byte[] body = gzip && cached.gzipped() != null ? cached.gzipped() : cached.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        if (body != cached.body()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, quoted(body != cached.body() ? etag + GZIP_ETAG_SUFFIX : etag));
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Indique si l'en-tête {@code If-None-Match} désigne la version courante, dans l'une ou l'autre de ses
+     * représentations (comparaison faible, comme le prévoit la RFC 9110).
+     */
+    static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        while (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*")) {
+                    return true;
+                }
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                value = value.replace("\"", "");
+                if (value.equals(etag) || value.equals(etag + GZIP_ETAG_SUFFIX)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String quoted(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    /**
+     * Indique si le client accepte gzip ({@code gzip} ou {@code *} dans {@code Accept-Encoding}, sans {@code q=0}).
+     */
+    static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !(parts.length > 1 && isZeroQuality(parts[1]))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String value = parameter.trim().toLowerCase(Locale.ROOT);
+        return value.startsWith("q=") && value.substring(2).trim().matches("0(\\.0{0,3})?");
+    }
+}
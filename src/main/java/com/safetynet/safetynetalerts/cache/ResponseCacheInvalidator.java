@@ -0,0 +1,28 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.json.DatasetChangeListener;
+import com.safetynet.safetynetalerts.json.WalEntry;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Invalide les réponses du {@link ResponseCache} touchées par chaque nouvel instantané des données.
+ * Sans mutation (foyers recalculés pour une nouvelle date), tous les âges peuvent avoir changé :
+ * le cache est entièrement vidé.
+ */
+@AllArgsConstructor
+public class ResponseCacheInvalidator implements DatasetChangeListener {
+
+    private final ResponseCache cache;
+
+    @Override
+    public void datasetChanged(Dataset previous, Dataset current, List<WalEntry> entries) {
+        if (entries.isEmpty()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(CacheTags.changedBy(previous, current, entries));
+        }
+    }
+}
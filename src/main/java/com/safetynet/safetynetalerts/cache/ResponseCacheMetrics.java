@@ -0,0 +1,51 @@
+package com.safetynet.safetynetalerts.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+
+/**
+ * Expose via l'actuator l'activité du cache des réponses : succès, échecs, évictions, réponses 304, requêtes regroupées
+ * ({@code /actuator/metrics/safetynet.cache.hits}, ...), calculs en cours, nombre de réponses et taille occupée.
+ */
+@AllArgsConstructor
+public class ResponseCacheMetrics implements MeterBinder {
+
+    private final ResponseCache cache;
+    private final RequestCoalescer coalescer;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("safetynet.cache.hits", cache, ResponseCache::hits)
+                .description("Réponses servies depuis le cache")
+                .register(registry);
+        FunctionCounter.builder("safetynet.cache.misses", cache, ResponseCache::misses)
+                .description("Réponses absentes du cache")
+                .register(registry);
+        FunctionCounter.builder("safetynet.cache.evictions", cache, ResponseCache::evictions)
+                .description("Réponses évincées du cache faute de place")
+                .register(registry);
+        FunctionCounter.builder("safetynet.cache.not-modified", cache, ResponseCache::notModified)
+                .description("Requêtes conditionnelles résolues sans renvoyer la réponse (304)")
+                .register(registry);
+        FunctionCounter.builder("safetynet.cache.coalesced", coalescer, RequestCoalescer::coalesced)
+                .description("Requêtes ayant partagé le calcul d'une requête identique simultanée")
+                .register(registry);
+        FunctionCounter.builder("safetynet.cache.coalesce-timeouts", coalescer, RequestCoalescer::timeouts)
+                .description("Requêtes ayant calculé leur réponse faute d'obtenir à temps celle d'une requête identique")
+                .register(registry);
+        Gauge.builder("safetynet.cache.in-flight", coalescer, RequestCoalescer::inFlight)
+                .description("Calculs de réponses en cours")
+                .register(registry);
+        Gauge.builder("safetynet.cache.size", cache, ResponseCache::size)
+                .description("Nombre de réponses en cache")
+                .register(registry);
+        Gauge.builder("safetynet.cache.weight", cache, ResponseCache::weight)
+                .description("Taille des réponses en cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+}
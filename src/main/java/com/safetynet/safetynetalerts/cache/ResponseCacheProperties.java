@@ -0,0 +1,61 @@
+package com.safetynet.safetynetalerts.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du cache des réponses des alertes, renseignés via les propriétés {@code safetynet.cache.*}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "safetynet.cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Indique si les réponses des alertes sont mises en cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de réponses conservées ; les moins récemment utilisées sont évincées au-delà.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Taille totale maximale des réponses conservées ; les moins récemment utilisées sont évincées au-delà.
+     */
+    private DataSize maxWeight = DataSize.ofMegabytes(32);
+
+    /**
+     * Indique si les réponses mises en cache sont aussi conservées compressées (gzip), pour les clients qui
+     * l'acceptent.
+     */
+    private boolean gzip = true;
+
+    /**
+     * Taille minimale d'une réponse pour qu'elle soit compressée.
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Durée maximale d'attente d'une requête identique en cours de calcul, au-delà de laquelle la requête
+     * calcule sa propre réponse.
+     */
+    private Duration coalesceTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Indique si le cache est préchauffé au démarrage, avant que l'application ne se déclare prête.
+     */
+    private boolean warmUp = false;
+
+    /**
+     * Nombre de requêtes de préchauffage exécutées en parallèle.
+     */
+    private int warmUpThreads = 4;
+}
@@ -0,0 +1,160 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.index.Keys;
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Préchauffe le cache des réponses au démarrage : {@code /fire} et {@code /childAlert} pour chaque adresse connue,
+ * {@code /phoneAlert} et {@code /firestation?stationNumber=} pour chaque caserne.
+ * <p>
+ * Les requêtes passent par le serveur HTTP local, si bien que toute la chaîne (filtres, contrôleurs, services,
+ * sérialisation) est aussi préchauffée. Spring Boot ne déclare l'application prête à recevoir du trafic
+ * (sonde {@code /actuator/health/readiness}) qu'une fois les {@link ApplicationRunner} terminés : le trafic
+ * n'atteint donc jamais un cache vide.
+ * <p>
+ * Une réponse 404 (caserne ou adresse sans habitant) est une réponse valide, simplement non mise en cache ;
+ * seules les erreurs de transport et les réponses 5xx sont des échecs du préchauffage.
+ */
+@Slf4j
+@AllArgsConstructor
+public class ResponseCacheWarmer implements ApplicationRunner {
+
+    private final JsonFileWriter jsonFileWriter;
+    private final ApplicationContext applicationContext;
+    private final int threads;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!(applicationContext instanceof ServletWebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            log.info("ResponseCacheWarmer - aucun serveur HTTP : préchauffage ignoré");
+            return;
+        }
+        String base = "http://localhost:" + webContext.getWebServer().getPort() + webContext.getServletContext().getContextPath();
+        List<String> paths = warmUpPaths(jsonFileWriter.getDataset());
+        long start = System.nanoTime();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger notCached = new AtomicInteger();
+        // Le client est fermé après le pool, une fois toutes les requêtes terminées
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (String path : paths) {
+                executor.execute(() -> {
+                    switch (warmUp(client, URI.create(base + path))) {
+                        case NOT_CACHED -> notCached.incrementAndGet();
+                        case FAILED -> failures.incrementAndGet();
+                        case CACHED -> {
+                        }
+                    }
+                });
+            }
+        }
+        if (failures.get() > 0) {
+            log.error("ResponseCacheWarmer - {} requête(s) de préchauffage en échec sur {}", failures.get(), paths.size());
+        }
+        log.info("ResponseCacheWarmer - {} réponse(s) préchauffée(s), {} sans résultat, en {} ms",
+                paths.size() - failures.get() - notCached.get(), notCached.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Calcule les chemins des alertes à préchauffer : une fois par adresse et par caserne distinctes.
+     *
+     * @param dataset instantané des données.
+     * @return les chemins, paramètres encodés.
+     */
+    static List<String> warmUpPaths(Dataset dataset) {
+        List<String> addresses = new ArrayList<>();
+        Set<String> seenAddresses = new HashSet<>();
+        for (Person person : dataset.getPersons()) {
+            if (seenAddresses.add(Keys.normalize(person.getAddress()))) {
+                addresses.add(person.getAddress());
+            }
+        }
+        List<String> stations = new ArrayList<>();
+        Set<String> seenStations = new HashSet<>();
+        for (FireStation fireStation : dataset.getFirestations()) {
+            if (seenAddresses.add(Keys.normalize(fireStation.getAddress()))) {
+                addresses.add(fireStation.getAddress());
+            }
+            if (seenStations.add(Keys.normalize(fireStation.getStation()))) {
+                stations.add(fireStation.getStation());
+            }
+        }
+        List<String> paths = new ArrayList<>(2 * (addresses.size() + stations.size()));
+        for (String address : addresses) {
+            paths.add("/fire?address=" + encode(address));
+            paths.add("/childAlert?address=" + encode(address));
+        }
+        for (String station : stations) {
+            paths.add("/phoneAlert?firestation=" + encode(station));
+            paths.add("/firestation?stationNumber=" + encode(station));
+        }
+        return paths;
+    }
+
+    /**
+     * Envoie une requête de préchauffage.
+     *
+     * @param client client HTTP.
+     * @param uri    adresse de l'alerte.
+     * @return le résultat : réponse mise en cache (200), réponse valide non mise en cache (autre statut
+     *         inférieur à 500, dont 404), ou échec (erreur de transport ou réponse 5xx).
+     */
+    static Outcome warmUp(HttpClient client, URI uri) {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            if (status >= 500) {
+                log.error("ResponseCacheWarmer - erreur lors du préchauffage de {} : statut {}", uri, status);
+                return Outcome.FAILED;
+            }
+            return status == 200 ? Outcome.CACHED : Outcome.NOT_CACHED;
+        } catch (IOException e) {
+            log.error("ResponseCacheWarmer - erreur lors du préchauffage de {} : {}", uri, e.getMessage());
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILED;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Résultat d'une requête de préchauffage.
+     */
+    enum Outcome {
+        /** Réponse 200, mise en cache. */
+        CACHED,
+        /** Réponse valide mais non mise en cache, par exemple 404 pour une caserne sans habitant. */
+        NOT_CACHED,
+        /** Erreur de transport ou réponse 5xx. */
+        FAILED
+    }
+}
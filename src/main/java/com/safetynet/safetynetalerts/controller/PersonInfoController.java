@@ -25,14 +25,20 @@ public class PersonInfoController {
      * Endpoint pour récupérer les informations sur les personnes par leur nom.
      *
      * @param lastName Nom de famille des personnes recherchées.
+     * @param prefix   Si true, recherche les noms de famille commençant par {@code lastName}.
      * @return Une liste de DTO contenant les informations des habitants avec ce nom.
      */
     @GetMapping("/personInfo")
     @Operation(summary = "Récupérer les informations d'une personne par son nom de famille",
-            description = "Retourne une liste contenant les informations des habitants correspondant au nom de famille fourni.")
+            description = "Retourne une liste contenant les informations des habitants correspondant au nom de famille fourni "
+                    + "(casse et accents ignorés), ou commençant par ce nom si prefix=true.")
     @ApiResponse(responseCode = "200", description = "Liste récupérée avec succès.")
-    public List<PersonInfoDTO> getPersonInfo(@RequestParam("lastName") String lastName) {
+    public List<PersonInfoDTO> getPersonInfo(@RequestParam("lastName") String lastName,
+                                             @RequestParam(value = "prefix", defaultValue = "false") boolean prefix) {
         log.info("api getPersonInfo ok");
+        if (prefix) {
+            return personInfoService.getPersonInfoByLastNamePrefix(lastName);
+        }
         return personInfoService.getPersonInfoByLastName(lastName);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.safetynet.safetynetalerts.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+/**
+ * Désactive les endpoints de modification (POST, PUT, PATCH, DELETE) lorsque l'application
+ * fonctionne en lecture seule ({@code safetynet.persistence.read-only=true}, profil {@code readonly}).
+ * Ces requêtes reçoivent une réponse HTTP 405 sans atteindre les contrôleurs.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "safetynet.persistence", name = "read-only", havingValue = "true")
+public class ReadOnlyModeConfig implements WebMvcConfigurer {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (READ_METHODS.contains(request.getMethod())) {
+                    return true;
+                }
+                log.error("api {} {} ko - application en lecture seule", request.getMethod(), request.getRequestURI());
+                response.setStatus(HttpStatus.METHOD_NOT_ALLOWED.value());
+                response.setHeader(HttpHeaders.ALLOW, String.join(", ", READ_METHODS));
+                return false;
+            }
+        });
+    }
+}
@@ -23,4 +23,5 @@ public class FichierJsonDTO {
     List<Person> persons;
     List<FireStation> firestations;
     List<MedicalRecord> medicalrecords;
+    long walSequence; // Dernière entrée du journal d'écriture intégrée dans ce fichier
 }
@@ -0,0 +1,12 @@
+package com.safetynet.safetynetalerts.index;
+
+/**
+ * Statistiques d'âge d'une population à une date donnée.
+ *
+ * @param persons              nombre de personnes.
+ * @param adults               nombre de personnes de plus de 18 ans.
+ * @param children             nombre de personnes de 18 ans ou moins.
+ * @param withoutMedicalRecord nombre de personnes sans dossier médical (âge inconnu).
+ */
+public record AgeStatistics(int persons, int adults, int children, int withoutMedicalRecord) {
+}
@@ -0,0 +1,94 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Dates de naissance représentées en nombre de jours depuis le 1er janvier 1970 ({@code int}).
+ * <p>
+ * La conversion d'une {@link Date} est faite une seule fois, au chargement ou à la modification d'un dossier
+ * médical ; les comparaisons d'âge se ramènent ensuite à comparer un entier à un seuil calculé une fois par date.
+ * Les dates sont lues en UTC, fuseau dans lequel Jackson interprète le format {@code dd/MM/yyyy} des dossiers.
+ */
+public final class BirthDates {
+
+    /** Date de naissance inconnue (pas de dossier médical, ou dossier sans date). */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private BirthDates() {
+    }
+
+    /**
+     * Convertit une date de naissance.
+     *
+     * @param birthDate la date de naissance (peut être {@code null}).
+     * @return le nombre de jours depuis le 1er janvier 1970, ou {@link #NONE} pour {@code null}.
+     */
+    public static int epochDay(Date birthDate) {
+        if (birthDate == null) {
+            return NONE;
+        }
+        return (int) Math.floorDiv(birthDate.getTime(), MILLIS_PER_DAY); // Jour UTC, sans allocation
+    }
+
+    /**
+     * Renvoie le dernier jour de naissance possible pour avoir au moins un âge donné à une date :
+     * une personne a {@code age} ans ou plus si elle est née ce jour-là ou avant.
+     *
+     * @param age  âge en années.
+     * @param asOf date de calcul.
+     * @return le jour de naissance limite, en nombre de jours depuis le 1er janvier 1970.
+     */
+    public static int bornOnOrBefore(int age, LocalDate asOf) {
+        return (int) asOf.minusYears(age).toEpochDay();
+    }
+
+    /**
+     * Indique si une personne a au plus {@link Household#CHILD_MAX_AGE} ans à une date donnée.
+     *
+     * @param birthDay       jour de naissance (différent de {@link #NONE}).
+     * @param childThreshold seuil obtenu par {@code bornOnOrBefore(CHILD_MAX_AGE + 1, asOf)}.
+     * @return true pour un enfant.
+     */
+    public static boolean isChild(int birthDay, int childThreshold) {
+        return birthDay > childThreshold;
+    }
+
+    /**
+     * Convertit un jour en date compacte {@code année << 9 | mois << 5 | jour}, sans allocation
+     * (algorithme « days from civil » inversé de H. Hinnant). Deux dates compactes se comparent
+     * comme les dates elles-mêmes, et les 9 bits de poids faible comparent le mois et le jour.
+     *
+     * @param epochDay nombre de jours depuis le 1er janvier 1970.
+     * @return la date compacte.
+     */
+    public static int packed(int epochDay) {
+        int z = epochDay + 719_468;
+        int era = Math.floorDiv(z, 146_097);
+        int dayOfEra = z - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    /**
+     * Calcule l'âge révolu, sans allocation.
+     *
+     * @param birthDay    jour de naissance ({@link #NONE} : âge 0).
+     * @param todayPacked date du jour compacte ({@link #packed(int)}).
+     * @return l'âge en années.
+     */
+    public static int age(int birthDay, int todayPacked) {
+        if (birthDay == NONE) {
+            return 0;
+        }
+        int birth = packed(birthDay);
+        return (todayPacked >> 9) - (birth >> 9) - ((todayPacked & 0x1FF) < (birth & 0x1FF) ? 1 : 0);
+    }
+}
@@ -0,0 +1,177 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Index immuable associant une clé à l'ensemble des valeurs distinctes portées par les éléments de cette clé
+ * (par exemple les emails des habitants d'une ville).
+ * <p>
+ * Chaque valeur est accompagnée d'un compteur de références : elle ne disparaît de l'ensemble que lorsque
+ * le dernier élément qui la porte est supprimé ou modifié. Les valeurs sont restituées dans l'ordre
+ * de leur première apparition, sous forme d'une liste immuable précalculée : une lecture ne coûte
+ * aucune allocation. Les valeurs {@code null} ou vides ne sont pas indexées.
+ * <p>
+ * Les tables des clés et des compteurs sont persistantes ({@link PersistentMap}) : une mutation ne recopie que
+ * le chemin des entrées modifiées. La liste d'une clé n'est recalculée que lorsqu'une valeur y apparaît
+ * ou en disparaît.
+ *
+ * @param <K> type de la clé.
+ * @param <T> type des éléments indexés.
+ * @param <V> type des valeurs.
+ */
+public final class DistinctValueIndex<K, T, V> {
+
+    private final Function<T, K> keyFunction;
+    private final Function<T, V> valueFunction;
+    private final PersistentMap<K, PersistentMap<V, Integer>> counts;
+    private final PersistentMap<K, List<V>> values;
+
+    private DistinctValueIndex(Function<T, K> keyFunction, Function<T, V> valueFunction,
+                               PersistentMap<K, PersistentMap<V, Integer>> counts, PersistentMap<K, List<V>> values) {
+        this.keyFunction = keyFunction;
+        this.valueFunction = valueFunction;
+        this.counts = counts;
+        this.values = values;
+    }
+
+    /**
+     * Construit l'index d'une liste.
+     *
+     * @param elements      éléments à indexer.
+     * @param keyFunction   calcul de la clé d'un élément.
+     * @param valueFunction calcul de la valeur d'un élément.
+     * @return l'index.
+     */
+    public static <K, T, V> DistinctValueIndex<K, T, V> build(List<T> elements, Function<T, K> keyFunction,
+                                                              Function<T, V> valueFunction) {
+        Editor<K, T, V> editor = new DistinctValueIndex<K, T, V>(keyFunction, valueFunction,
+                PersistentHashMap.empty(), PersistentHashMap.empty()).edit();
+        elements.forEach(element -> editor.replaced(null, element));
+        return editor.build();
+    }
+
+    /**
+     * Renvoie les valeurs distinctes associées à la clé.
+     *
+     * @param key la clé recherchée.
+     * @return la liste immuable des valeurs, vide si la clé est inconnue.
+     */
+    public List<V> get(K key) {
+        return values.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Ouvre un éditeur produisant un nouvel index à partir de celui-ci, qui reste inchangé.
+     *
+     * @return l'éditeur.
+     */
+    public Editor<K, T, V> edit() {
+        return new Editor<>(this);
+    }
+
+    /**
+     * Éditeur d'un index, à utiliser par un seul thread puis à fermer par {@link #build()}.
+     * Seules les listes des clés dont l'ensemble des valeurs change sont recopiées.
+     *
+     * @param <K> type de la clé.
+     * @param <T> type des éléments indexés.
+     * @param <V> type des valeurs.
+     */
+    public static final class Editor<K, T, V> {
+
+        private final DistinctValueIndex<K, T, V> base;
+        private final Map<K, PersistentMap<V, Integer>> changedCounts = new HashMap<>();
+        private final Map<K, List<V>> changedValues = new HashMap<>();
+
+        private Editor(DistinctValueIndex<K, T, V> base) {
+            this.base = base;
+        }
+
+        /**
+         * Prend en compte le remplacement d'un élément de la liste indexée.
+         *
+         * @param previous l'élément retiré, ou {@code null} pour un ajout.
+         * @param element  le nouvel élément, ou {@code null} pour une suppression.
+         */
+        public void replaced(T previous, T element) {
+            if (previous != null) {
+                K key = base.keyFunction.apply(previous);
+                V value = base.valueFunction.apply(previous);
+                if (element != null && key.equals(base.keyFunction.apply(element))
+                        && Objects.equals(value, base.valueFunction.apply(element))) {
+                    return; // Même clé et même valeur : rien ne change
+                }
+                if (indexed(value)) {
+                    PersistentMap<V, Integer> counts = counts(key);
+                    Integer count = counts.get(value);
+                    if (count != null) {
+                        if (count == 1) {
+                            changedCounts.put(key, counts.without(value));
+                            values(key).remove(value);
+                        } else {
+                            changedCounts.put(key, counts.with(value, count - 1));
+                        }
+                    }
+                }
+            }
+            if (element != null) {
+                K key = base.keyFunction.apply(element);
+                V value = base.valueFunction.apply(element);
+                if (indexed(value)) {
+                    PersistentMap<V, Integer> counts = counts(key);
+                    Integer count = counts.get(value);
+                    changedCounts.put(key, counts.with(value, count == null ? 1 : count + 1));
+                    if (count == null) {
+                        values(key).add(value);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Construit le nouvel index : seules les entrées des clés modifiées sont remplacées.
+         *
+         * @return l'index immuable.
+         */
+        public DistinctValueIndex<K, T, V> build() {
+            PersistentMap<K, PersistentMap<V, Integer>> counts = base.counts;
+            for (Map.Entry<K, PersistentMap<V, Integer>> entry : changedCounts.entrySet()) {
+                counts = entry.getValue().size() == 0
+                        ? counts.without(entry.getKey())
+                        : counts.with(entry.getKey(), entry.getValue());
+            }
+            PersistentMap<K, List<V>> values = base.values;
+            for (Map.Entry<K, List<V>> entry : changedValues.entrySet()) {
+                values = entry.getValue().isEmpty()
+                        ? values.without(entry.getKey())
+                        : values.with(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+            return new DistinctValueIndex<>(base.keyFunction, base.valueFunction, counts, values);
+        }
+
+        /**
+         * Renvoie les compteurs courants d'une clé.
+         */
+        private PersistentMap<V, Integer> counts(K key) {
+            PersistentMap<V, Integer> counts = changedCounts.get(key);
+            return counts != null ? counts : base.counts.getOrDefault(key, PersistentHashMap.empty());
+        }
+
+        /**
+         * Renvoie la copie modifiable de la liste des valeurs d'une clé, créée à la première apparition
+         * ou disparition d'une valeur.
+         */
+        private List<V> values(K key) {
+            return changedValues.computeIfAbsent(key, k -> new ArrayList<>(base.values.getOrDefault(k, List.of())));
+        }
+
+        private static boolean indexed(Object value) {
+            return value != null && !(value instanceof CharSequence sequence && sequence.isEmpty());
+        }
+    }
+}
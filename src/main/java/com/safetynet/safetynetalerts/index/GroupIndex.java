@@ -0,0 +1,206 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Index secondaire immuable associant une clé à la liste des éléments portant cette clé
+ * (par exemple les habitants d'une adresse).
+ * <p>
+ * Il n'est jamais modifié après sa construction : {@link #edit()} fournit un éditeur qui ne recopie que les groupes
+ * touchés par une mutation, la table des groupes étant persistante ({@link PersistentMap}) : le nouvel index partage
+ * avec l'ancien tous les groupes et nœuds non touchés. L'ordre d'un groupe est celui de la liste indexée,
+ * un élément changeant de clé étant placé en fin de son nouveau groupe.
+ * <p>
+ * Un index trié ({@link #buildSorted}) permet en plus les recherches par intervalle de clés, par exemple par préfixe.
+ *
+ * @param <K> type de la clé.
+ * @param <T> type des éléments indexés.
+ */
+public final class GroupIndex<K, T> {
+
+    private final Function<T, K> keyFunction;
+    private final PersistentMap<K, List<T>> groups; // PersistentSortedMap pour un index trié
+
+    private GroupIndex(Function<T, K> keyFunction, PersistentMap<K, List<T>> groups) {
+        this.keyFunction = keyFunction;
+        this.groups = groups;
+    }
+
+    /**
+     * Construit l'index d'une liste.
+     *
+     * @param values      éléments à indexer.
+     * @param keyFunction calcul de la clé d'un élément.
+     * @return l'index.
+     */
+    public static <K, T> GroupIndex<K, T> build(List<T> values, Function<T, K> keyFunction) {
+        return build(values, keyFunction, PersistentHashMap.empty());
+    }
+
+    /**
+     * Construit l'index trié d'une liste, dont les clés sont rangées dans leur ordre naturel.
+     *
+     * @param values      éléments à indexer.
+     * @param keyFunction calcul de la clé d'un élément.
+     * @return l'index trié.
+     */
+    public static <K extends Comparable<K>, T> GroupIndex<K, T> buildSorted(List<T> values, Function<T, K> keyFunction) {
+        return build(values, keyFunction, PersistentSortedMap.empty());
+    }
+
+    private static <K, T> GroupIndex<K, T> build(List<T> values, Function<T, K> keyFunction,
+                                                 PersistentMap<K, List<T>> empty) {
+        Map<K, List<T>> grouped = new HashMap<>();
+        for (T value : values) {
+            grouped.computeIfAbsent(keyFunction.apply(value), k -> new ArrayList<>(4)).add(value);
+        }
+        PersistentMap<K, List<T>> groups = empty;
+        for (Map.Entry<K, List<T>> group : grouped.entrySet()) {
+            groups = groups.with(group.getKey(), List.copyOf(group.getValue()));
+        }
+        return new GroupIndex<>(keyFunction, groups);
+    }
+
+    /**
+     * Renvoie les éléments associés à la clé.
+     *
+     * @param key la clé recherchée.
+     * @return la liste immuable des éléments, vide si la clé est inconnue.
+     */
+    public List<T> get(K key) {
+        return groups.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Renvoie les éléments dont la clé est comprise dans un intervalle, dans l'ordre des clés.
+     *
+     * @param fromInclusive borne inférieure incluse.
+     * @param toExclusive   borne supérieure exclue.
+     * @return la liste des éléments, vide si aucune clé ne correspond.
+     * @throws IllegalStateException si l'index n'est pas trié.
+     */
+    public List<T> getRange(K fromInclusive, K toExclusive) {
+        if (!(groups instanceof PersistentSortedMap<K, List<T>> sortedGroups)) {
+            throw new IllegalStateException("Recherche par intervalle impossible sur un index non trié");
+        }
+        List<T> values = new ArrayList<>();
+        sortedGroups.forEachInRange(fromInclusive, toExclusive, (key, group) -> values.addAll(group));
+        return values;
+    }
+
+    /**
+     * Renvoie le nombre de clés indexées.
+     *
+     * @return le nombre de clés.
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Parcourt tous les groupes de l'index.
+     *
+     * @param action traitement appliqué à chaque clé et à la liste immuable de ses éléments.
+     */
+    public void forEach(BiConsumer<K, List<T>> action) {
+        groups.forEach(action);
+    }
+
+    /**
+     * Ouvre un éditeur produisant un nouvel index à partir de celui-ci, qui reste inchangé.
+     *
+     * @return l'éditeur.
+     */
+    public Editor<K, T> edit() {
+        return new Editor<>(keyFunction, groups);
+    }
+
+    /**
+     * Éditeur d'un index, à utiliser par un seul thread puis à fermer par {@link #build()}.
+     * Les groupes modifiés sont recopiés une seule fois par éditeur, puis reportés dans la table persistante.
+     *
+     * @param <K> type de la clé.
+     * @param <T> type des éléments indexés.
+     */
+    public static final class Editor<K, T> {
+
+        private final Function<T, K> keyFunction;
+        private final PersistentMap<K, List<T>> groups;
+        private final Map<K, List<T>> copied = new HashMap<>();
+
+        private Editor(Function<T, K> keyFunction, PersistentMap<K, List<T>> groups) {
+            this.keyFunction = keyFunction;
+            this.groups = groups;
+        }
+
+        /**
+         * Prend en compte le remplacement d'un élément de la liste indexée.
+         *
+         * @param previous l'élément retiré, ou {@code null} pour un ajout.
+         * @param value    le nouvel élément, ou {@code null} pour une suppression.
+         */
+        public void replaced(T previous, T value) {
+            if (previous != null && value != null) {
+                K key = keyFunction.apply(previous);
+                if (key.equals(keyFunction.apply(value))) {
+                    List<T> group = group(key);
+                    int index = indexOf(group, previous);
+                    if (index >= 0) {
+                        group.set(index, value); // Même clé : l'élément garde sa place dans le groupe
+                        return;
+                    }
+                }
+            }
+            if (previous != null) {
+                K key = keyFunction.apply(previous);
+                List<T> group = group(key);
+                int index = indexOf(group, previous);
+                if (index >= 0) {
+                    group.remove(index);
+                }
+            }
+            if (value != null) {
+                group(keyFunction.apply(value)).add(value);
+            }
+        }
+
+        /**
+         * Construit le nouvel index.
+         *
+         * @return l'index immuable.
+         */
+        public GroupIndex<K, T> build() {
+            PersistentMap<K, List<T>> result = groups;
+            for (Map.Entry<K, List<T>> group : copied.entrySet()) {
+                result = group.getValue().isEmpty()
+                        ? result.without(group.getKey())
+                        : result.with(group.getKey(), List.copyOf(group.getValue()));
+            }
+            return new GroupIndex<>(keyFunction, result);
+        }
+
+        /**
+         * Renvoie la copie modifiable d'un groupe, créée à la première modification.
+         */
+        private List<T> group(K key) {
+            return copied.computeIfAbsent(key, k -> new ArrayList<>(groups.getOrDefault(k, List.of())));
+        }
+
+        /**
+         * Recherche un élément par identité : deux personnes peuvent être égales sans être le même élément.
+         */
+        private static <T> int indexOf(List<T> group, T value) {
+            for (int i = 0; i < group.size(); i++) {
+                if (group.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.safetynet.safetynetalerts.index;
+
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Agrégat immuable d'un foyer : habitants d'une adresse, téléphones distincts et nombre d'adultes et d'enfants
+ * à une date donnée.
+ * <p>
+ * Une personne est un enfant jusqu'à 18 ans inclus ; une personne sans dossier médical n'est comptée
+ * ni parmi les adultes ni parmi les enfants.
+ */
+@Getter
+public final class Household {
+
+    /** Âge maximal d'un enfant. */
+    public static final int CHILD_MAX_AGE = 18;
+
+    private static final Household EMPTY = new Household(List.of(), List.of(), 0, 0);
+
+    private final List<Person> residents;
+    private final List<String> phones;
+    private final int adults;
+    private final int children;
+
+    private Household(List<Person> residents, List<String> phones, int adults, int children) {
+        this.residents = residents;
+        this.phones = phones;
+        this.adults = adults;
+        this.children = children;
+    }
+
+    /**
+     * Renvoie le foyer vide, pour une adresse sans habitant.
+     *
+     * @return le foyer vide.
+     */
+    public static Household empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Calcule l'agrégat d'un foyer.
+     *
+     * @param residents      habitants de l'adresse.
+     * @param medicalRecords recherche du dossier médical d'un habitant ({@code null} s'il n'en a pas).
+     * @param asOf           date à laquelle les âges sont calculés.
+     * @return l'agrégat du foyer.
+     */
+    public static Household of(List<Person> residents, Function<Person, MedicalRecord> medicalRecords, LocalDate asOf) {
+        if (residents.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> phones = new LinkedHashSet<>();
+        int childThreshold = BirthDates.bornOnOrBefore(CHILD_MAX_AGE + 1, asOf);
+        int adults = 0;
+        int children = 0;
+        for (Person resident : residents) {
+            if (resident.getPhone() != null && !resident.getPhone().isEmpty()) {
+                phones.add(resident.getPhone());
+            }
+            MedicalRecord medicalRecord = medicalRecords.apply(resident);
+            if (medicalRecord != null) {
+                int birthDay = BirthDates.epochDay(medicalRecord.getBirthdate());
+                if (birthDay == BirthDates.NONE || BirthDates.isChild(birthDay, childThreshold)) { // Sans date : âge 0
+                    children++;
+                } else {
+                    adults++;
+                }
+            }
+        }
+        return new Household(residents, List.copyOf(phones), adults, children);
+    }
+}
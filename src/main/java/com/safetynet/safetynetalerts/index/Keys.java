@@ -0,0 +1,50 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation des clés d'index : les espaces superflus et la casse sont ignorés.
+ */
+public final class Keys {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Keys() {
+    }
+
+    /**
+     * Normalise une valeur utilisée comme clé d'index.
+     *
+     * @param value la valeur (peut être {@code null}).
+     * @return la valeur sans espaces superflus et en minuscules, ou une chaîne vide pour {@code null}.
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalise une valeur en ignorant aussi les accents et autres signes diacritiques
+     * ({@code "Émile"} et {@code "emile"} donnent la même clé). Utilisé pour les noms de famille.
+     *
+     * @param value la valeur (peut être {@code null}).
+     * @return la valeur normalisée, sans signes diacritiques.
+     */
+    public static String fold(String value) {
+        String normalized = normalize(value);
+        if (isAscii(normalized)) {
+            return normalized; // Cas courant : aucune décomposition nécessaire
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
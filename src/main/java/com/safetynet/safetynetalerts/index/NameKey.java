@@ -0,0 +1,23 @@
+package com.safetynet.safetynetalerts.index;
+
+/**
+ * Clé composite normalisée (prénom, nom) utilisée pour indexer les personnes et les dossiers médicaux.
+ * Les espaces superflus et la casse sont ignorés : {@code " john ", "BOYD"} et {@code "John", "Boyd"}
+ * désignent la même clé.
+ *
+ * @param firstName prénom normalisé.
+ * @param lastName  nom normalisé.
+ */
+public record NameKey(String firstName, String lastName) {
+
+    /**
+     * Construit la clé normalisée d'un prénom et d'un nom.
+     *
+     * @param firstName prénom (peut être {@code null}).
+     * @param lastName  nom (peut être {@code null}).
+     * @return la clé normalisée.
+     */
+    public static NameKey of(String firstName, String lastName) {
+        return new NameKey(Keys.normalize(firstName), Keys.normalize(lastName));
+    }
+}
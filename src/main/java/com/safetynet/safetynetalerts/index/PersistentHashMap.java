@@ -0,0 +1,305 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Table de hachage persistante (arbre préfixe de hachage, dit HAMT).
+ * <p>
+ * Chaque niveau de l'arbre consomme 5 bits du hachage de la clé : un nœud n'alloue que les cases occupées parmi
+ * ses 32 fils, repérées par un masque de bits. Une recherche parcourt au plus 7 niveaux, en pratique 3 ou 4 pour
+ * quelques dizaines de milliers de clés ; une modification ne recopie que les nœuds de ce chemin.
+ * Les clés de même hachage sont rangées dans un nœud de collision.
+ *
+ * @param <K> type de la clé (jamais {@code null}).
+ * @param <V> type de la valeur (jamais {@code null}).
+ */
+public final class PersistentHashMap<K, V> implements PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root; // null pour la table vide
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Renvoie la table vide.
+     *
+     * @return la table vide.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        return root == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        boolean[] added = new boolean[1];
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(0, hash(key), key, value, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    @Override
+    public PersistentHashMap<K, V> without(K key) {
+        if (root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /**
+     * Répartit les bits de poids fort du hachage, comme {@link java.util.HashMap}.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private interface Node {
+
+        Object find(int shift, int hash, Object key);
+
+        /**
+         * Renvoie le nœud avec l'association, ou le nœud lui-même s'il la contient déjà.
+         * {@code added[0]} est positionné si la clé était absente.
+         */
+        Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /**
+         * Renvoie le nœud sans la clé, le nœud lui-même si elle est absente, ou {@code null} s'il devient vide.
+         */
+        Node remove(int shift, int hash, Object key);
+
+        void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Nœud dont les cases occupées sont repérées par un masque de bits. Chaque case occupe deux positions
+     * du tableau : la clé et sa valeur, ou {@code null} et un sous-nœud.
+     */
+    private static final class BitmapNode implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(shift + BITS, hash, key, value, added);
+                return child == v ? this : with(index + 1, child);
+            }
+            if (key.equals(k)) {
+                return value == v ? this : with(index + 1, value);
+            }
+            added[0] = true;
+            Node child = pair(shift + BITS, k, v, hash, key, value);
+            Object[] newArray = array.clone();
+            newArray[index] = null;
+            newArray[index + 1] = child;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(shift + BITS, hash, key);
+                if (child == v) {
+                    return this;
+                }
+                return child != null ? with(index + 1, child) : without(bit, index);
+            }
+            return key.equals(k) ? without(bit, index) : this;
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode with(int index, Object value) {
+            Object[] newArray = array.clone();
+            newArray[index] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private BitmapNode without(int bit, int index) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        /**
+         * Crée le nœud contenant deux clés tombées dans la même case.
+         */
+        private static Node pair(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, hash1, key1, value1, added).put(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * Nœud des clés de même hachage, comparées une à une.
+     */
+    private static final class CollisionNode implements Node {
+
+        private final int hash;
+        private final Object[] array; // Clés et valeurs alternées
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index >= 0 ? array[index + 1] : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Une autre clé atteint cette case : le nœud de collision descend d'un niveau
+                return new BitmapNode(bit(this.hash, shift), new Object[]{null, this})
+                        .put(shift, hash, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            added[0] = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Table associative immuable et persistante : une modification renvoie une nouvelle table qui partage
+ * toute sa structure avec l'ancienne, hormis le chemin menant à la clé modifiée.
+ * <p>
+ * Les index d'un instantané sont ainsi mis à jour en temps logarithmique, sans recopier la table entière,
+ * tandis que les lecteurs de l'instantané précédent continuent d'utiliser l'ancienne version sans verrou.
+ *
+ * @param <K> type de la clé (jamais {@code null}).
+ * @param <V> type de la valeur (jamais {@code null}).
+ */
+public interface PersistentMap<K, V> {
+
+    /**
+     * Renvoie la valeur associée à la clé.
+     *
+     * @param key la clé recherchée.
+     * @return la valeur, ou {@code null} si la clé est absente.
+     */
+    V get(K key);
+
+    /**
+     * Renvoie la valeur associée à la clé, ou une valeur par défaut.
+     *
+     * @param key          la clé recherchée.
+     * @param defaultValue valeur renvoyée si la clé est absente.
+     * @return la valeur.
+     */
+    default V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Renvoie une table associant la valeur à la clé.
+     *
+     * @param key   la clé.
+     * @param value la valeur.
+     * @return la nouvelle table, ou la table elle-même si la clé est déjà associée à cette valeur.
+     */
+    PersistentMap<K, V> with(K key, V value);
+
+    /**
+     * Renvoie une table sans la clé.
+     *
+     * @param key la clé à retirer.
+     * @return la nouvelle table, ou la table elle-même si la clé est absente.
+     */
+    PersistentMap<K, V> without(K key);
+
+    /**
+     * Renvoie le nombre de clés.
+     *
+     * @return le nombre de clés.
+     */
+    int size();
+
+    /**
+     * Parcourt toutes les associations de la table.
+     *
+     * @param action traitement appliqué à chaque clé et à sa valeur.
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+}
@@ -0,0 +1,210 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Table triée persistante (arbre AVL), dont les clés sont rangées selon un comparateur.
+ * <p>
+ * L'arbre reste équilibré : recherches et modifications parcourent un chemin de longueur logarithmique,
+ * et une modification ne recopie que les nœuds de ce chemin. Les parcours par intervalle de clés
+ * ({@link #forEachInRange}) ne visitent que les sous-arbres concernés.
+ *
+ * @param <K> type de la clé (jamais {@code null}).
+ * @param <V> type de la valeur (jamais {@code null}).
+ */
+public final class PersistentSortedMap<K, V> implements PersistentMap<K, V> {
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root; // null pour la table vide
+    private final int size;
+
+    private PersistentSortedMap(Comparator<? super K> comparator, Node<K, V> root, int size) {
+        this.comparator = comparator;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Renvoie la table vide dont les clés sont rangées dans leur ordre naturel.
+     *
+     * @return la table vide.
+     */
+    public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return empty(Comparator.naturalOrder());
+    }
+
+    /**
+     * Renvoie la table vide dont les clés sont rangées selon un comparateur.
+     *
+     * @param comparator comparateur des clés.
+     * @return la table vide.
+     */
+    public static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentSortedMap<>(comparator, null, 0);
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    @Override
+    public PersistentSortedMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        boolean[] added = new boolean[1];
+        Node<K, V> newRoot = put(root, key, value, added);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot, added[0] ? size + 1 : size);
+    }
+
+    @Override
+    public PersistentSortedMap<K, V> without(K key) {
+        Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot, size - 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * Parcourt, dans l'ordre des clés, les associations dont la clé est comprise dans un intervalle.
+     *
+     * @param fromInclusive borne inférieure incluse.
+     * @param toExclusive   borne supérieure exclue.
+     * @param action        traitement appliqué à chaque clé et à sa valeur.
+     */
+    public void forEachInRange(K fromInclusive, K toExclusive, BiConsumer<? super K, ? super V> action) {
+        forEachInRange(root, fromInclusive, toExclusive, action);
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value, boolean[] added) {
+        if (node == null) {
+            added[0] = true;
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            return node.value == value ? node : new Node<>(key, value, node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node<K, V> left = put(node.left, key, value, added);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        Node<K, V> right = put(node.right, key, value, added);
+        return right == node.right ? node : balance(node.key, node.value, node.left, right);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0) {
+            Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            Node<K, V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, remove(node.right, successor.key));
+    }
+
+    /**
+     * Crée un nœud en rétablissant l'équilibre AVL, les hauteurs de ses sous-arbres différant d'au plus deux.
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            Node<K, V> pivot = left.right;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(left.key, left.value, left.left, pivot.left), new Node<>(key, value, pivot.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            Node<K, V> pivot = right.left;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(key, value, left, pivot.left), new Node<>(right.key, right.value, pivot.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            forEach(node.right, action);
+        }
+    }
+
+    private void forEachInRange(Node<K, V> node, K fromInclusive, K toExclusive, BiConsumer<? super K, ? super V> action) {
+        if (node == null) {
+            return;
+        }
+        boolean aboveFrom = comparator.compare(node.key, fromInclusive) >= 0;
+        boolean belowTo = comparator.compare(node.key, toExclusive) < 0;
+        if (aboveFrom) {
+            forEachInRange(node.left, fromInclusive, toExclusive, action);
+        }
+        if (aboveFrom && belowTo) {
+            action.accept(node.key, node.value);
+        }
+        if (belowTo) {
+            forEachInRange(node.right, fromInclusive, toExclusive, action);
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.safetynet.safetynetalerts.index;
+
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Représentation en colonnes des personnes, pour les parcours de toute la population (statistiques, filtres par ville).
+ * <p>
+ * Chaque personne occupe la même position dans des tableaux de types primitifs : identifiant de sa ville
+ * normalisée dans un dictionnaire, et date de naissance de son dossier médical en nombre de jours depuis
+ * le 1er janvier 1970 ({@link BirthDates}). Comme pour {@link Household} et l'{@code AgeService}, un dossier médical
+ * sans date de naissance donne un âge de 0 an, donc un enfant ; seul l'âge des personnes sans dossier est inconnu.
+ * Un parcours lit ainsi des tableaux contigus au lieu de suivre les références de chaque
+ * personne et de son dossier. Les colonnes sont immuables et correspondent à un instantané des données.
+ */
+public final class PersonColumns {
+
+    private static final int UNKNOWN_CITY = -1;
+    private static final int UNDATED = Integer.MAX_VALUE; // Dossier sans date de naissance : toujours un enfant
+
+    private final Map<String, Integer> cityIds; // Ville normalisée -> identifiant
+    private final int[] cities;
+    private final int[] birthDays;
+
+    private PersonColumns(Map<String, Integer> cityIds, int[] cities, int[] birthDays) {
+        this.cityIds = cityIds;
+        this.cities = cities;
+        this.birthDays = birthDays;
+    }
+
+    /**
+     * Construit les colonnes d'une liste de personnes.
+     *
+     * @param persons        personnes, dans l'ordre de la liste.
+     * @param medicalRecords recherche du dossier médical d'une personne ({@code null} s'il n'en a pas).
+     * @return les colonnes.
+     */
+    public static PersonColumns build(List<Person> persons, Function<Person, MedicalRecord> medicalRecords) {
+        Map<String, Integer> cityIds = new HashMap<>();
+        int[] cities = new int[persons.size()];
+        int[] birthDays = new int[persons.size()];
+        for (int i = 0; i < persons.size(); i++) {
+            Person person = persons.get(i);
+            cities[i] = cityIds.computeIfAbsent(Keys.normalize(person.getCity()), city -> cityIds.size());
+            MedicalRecord medicalRecord = medicalRecords.apply(person);
+            if (medicalRecord == null) {
+                birthDays[i] = BirthDates.NONE;
+            } else {
+                birthDays[i] = medicalRecord.getBirthdate() == null ? UNDATED : BirthDates.epochDay(medicalRecord.getBirthdate());
+            }
+        }
+        return new PersonColumns(cityIds, cities, birthDays);
+    }
+
+    /**
+     * Renvoie le nombre de personnes.
+     *
+     * @return la taille des colonnes.
+     */
+    public int size() {
+        return cities.length;
+    }
+
+    /**
+     * Compte les habitants d'une ville, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param city la ville recherchée.
+     * @return le nombre d'habitants, 0 si la ville est inconnue.
+     */
+    public int countByCity(String city) {
+        int id = cityIds.getOrDefault(Keys.normalize(city), UNKNOWN_CITY);
+        if (id == UNKNOWN_CITY) {
+            return 0;
+        }
+        int count = 0;
+        for (int value : cities) {
+            if (value == id) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calcule les statistiques d'âge de la population, ou des habitants d'une ville.
+     * Une personne est un enfant si elle n'a pas encore fêté ses 19 ans à la date donnée, ou si son dossier médical
+     * n'indique pas de date de naissance (âge 0).
+     *
+     * @param city ville recherchée, ou {@code null} pour toute la population.
+     * @param asOf date de calcul des âges.
+     * @return les statistiques, toutes nulles si la ville est inconnue.
+     */
+    public AgeStatistics ageStatistics(String city, LocalDate asOf) {
+        int childThreshold = BirthDates.bornOnOrBefore(Household.CHILD_MAX_AGE + 1, asOf);
+        int id = city == null ? UNKNOWN_CITY : cityIds.getOrDefault(Keys.normalize(city), UNKNOWN_CITY);
+        if (city != null && id == UNKNOWN_CITY) {
+            return new AgeStatistics(0, 0, 0, 0);
+        }
+        int persons = 0;
+        int children = 0;
+        int unknown = 0;
+        for (int i = 0; i < birthDays.length; i++) {
+            if (city == null || cities[i] == id) {
+                int birthDay = birthDays[i];
+                persons++;
+                if (birthDay == BirthDates.NONE) {
+                    unknown++;
+                } else if (BirthDates.isChild(birthDay, childThreshold)) {
+                    children++;
+                }
+            }
+        }
+        return new AgeStatistics(persons, persons - children - unknown, children, unknown);
+    }
+}
@@ -0,0 +1,40 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire de chaînes canoniques : chaque valeur distincte n'est conservée qu'en un seul exemplaire,
+ * partagé par toutes les entités qui la portent (adresses, villes, codes postaux, numéros de caserne).
+ * <p>
+ * Les valeurs très répétées n'occupent ainsi la mémoire qu'une fois, et deux valeurs canoniques égales
+ * sont le même objet : {@link String#equals(Object)} conclut dès la comparaison des références.
+ * Le dictionnaire ne fait que grandir ; il est reconstruit à chaque chargement des données.
+ */
+public final class StringDictionary {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * Renvoie l'exemplaire canonique d'une valeur, en l'enregistrant s'il s'agit de sa première apparition.
+     *
+     * @param value la valeur (peut être {@code null}).
+     * @return l'exemplaire partagé égal à la valeur, ou {@code null} pour {@code null}.
+     */
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Renvoie le nombre de valeurs distinctes enregistrées.
+     *
+     * @return la taille du dictionnaire.
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,110 @@
+package com.safetynet.safetynetalerts.index;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Index immuable associant une clé au premier élément d'une liste portant cette clé.
+ * <p>
+ * Un index n'est jamais modifié après sa construction : {@link #edit()} fournit un éditeur qui produit le nouvel
+ * index publié avec le nouvel instantané des données, en partageant la structure de l'ancien. Les lecteurs
+ * de l'ancien instantané continuent ainsi d'utiliser l'ancien index sans verrou.
+ * <p>
+ * Les éléments de même clé sont conservés dans un {@link GroupIndex} : la suppression du premier d'entre eux
+ * découvre le suivant sans parcourir la liste indexée.
+ *
+ * @param <K> type de la clé.
+ * @param <T> type des éléments indexés.
+ */
+public final class UniqueIndex<K, T> {
+
+    private final GroupIndex<K, T> groups;
+
+    private UniqueIndex(GroupIndex<K, T> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Construit l'index d'une liste. En cas de doublon, le premier élément de la liste est retenu.
+     *
+     * @param values      éléments à indexer.
+     * @param keyFunction calcul de la clé d'un élément.
+     * @return l'index.
+     */
+    public static <K, T> UniqueIndex<K, T> build(List<T> values, Function<T, K> keyFunction) {
+        return new UniqueIndex<>(GroupIndex.build(values, keyFunction));
+    }
+
+    /**
+     * Renvoie l'élément associé à la clé.
+     *
+     * @param key la clé recherchée.
+     * @return l'élément, ou {@code null} s'il n'existe pas.
+     */
+    public T get(K key) {
+        List<T> group = groups.get(key);
+        return group.isEmpty() ? null : group.get(0);
+    }
+
+    /**
+     * Renvoie tous les éléments portant la clé, doublons compris, le premier étant celui de {@link #get}.
+     *
+     * @param key la clé recherchée.
+     * @return la liste immuable des éléments, vide si la clé est inconnue.
+     */
+    public List<T> getAll(K key) {
+        return groups.get(key);
+    }
+
+    /**
+     * Renvoie le nombre de clés indexées.
+     *
+     * @return le nombre de clés.
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Ouvre un éditeur produisant un nouvel index à partir de celui-ci, qui reste inchangé.
+     *
+     * @return l'éditeur.
+     */
+    public Editor<K, T> edit() {
+        return new Editor<>(groups.edit());
+    }
+
+    /**
+     * Éditeur d'un index, à utiliser par un seul thread puis à fermer par {@link #build()}.
+     *
+     * @param <K> type de la clé.
+     * @param <T> type des éléments indexés.
+     */
+    public static final class Editor<K, T> {
+
+        private final GroupIndex.Editor<K, T> groups;
+
+        private Editor(GroupIndex.Editor<K, T> groups) {
+            this.groups = groups;
+        }
+
+        /**
+         * Prend en compte le remplacement d'un élément de la liste indexée.
+         *
+         * @param previous l'élément retiré, ou {@code null} pour un ajout.
+         * @param value    le nouvel élément, ou {@code null} pour une suppression.
+         */
+        public void replaced(T previous, T value) {
+            groups.replaced(previous, value);
+        }
+
+        /**
+         * Construit le nouvel index.
+         *
+         * @return l'index immuable.
+         */
+        public UniqueIndex<K, T> build() {
+            return new UniqueIndex<>(groups.build());
+        }
+    }
+}
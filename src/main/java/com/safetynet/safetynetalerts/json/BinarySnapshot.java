@@ -0,0 +1,271 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantané binaire compact des données, écrit à côté du fichier JSON et relu via un {@link MappedByteBuffer}.
+ * <p>
+ * Structure du fichier (entiers en big-endian) :
+ * <ul>
+ *     <li>en-tête : identifiant {@code SNA1}, version du format, numéro de la dernière entrée du journal intégrée ;</li>
+ *     <li>table des chaînes : nombre de chaînes puis, pour chacune, sa longueur et ses octets UTF-8.
+ *     Adresses, villes, numéros de caserne, etc. n'y figurent qu'une seule fois ;</li>
+ *     <li>une section par type d'entité : nombre d'enregistrements puis, pour chacun, sa longueur en octets
+ *     suivie de ses champs, les chaînes étant remplacées par leur indice dans la table ({@code -1} pour {@code null}).</li>
+ * </ul>
+ * Le JSON reste le format d'import et d'export : ce fichier n'est qu'un cache de démarrage.
+ */
+@Slf4j
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x534E4131; // "SNA1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_REF = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final boolean sync;
+
+    /**
+     * Crée un instantané binaire synchronisé sur le disque à chaque écriture.
+     */
+    public BinarySnapshot() {
+        this(true);
+    }
+
+    /**
+     * Crée un instantané binaire.
+     *
+     * @param sync indique si le fichier et son répertoire sont synchronisés sur le disque à chaque écriture.
+     */
+    public BinarySnapshot(boolean sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * Écrit l'instantané binaire de manière atomique (fichier temporaire, synchronisation éventuelle puis renommage).
+     *
+     * @param target fichier binaire à remplacer.
+     * @param data   données à écrire.
+     * @throws IOException en cas d'erreur d'écriture, le fichier cible restant alors inchangé.
+     */
+    public void write(Path target, FichierJsonDTO data) throws IOException {
+        Map<String, Integer> strings = buildStringTable(data);
+        Path temporaryFile = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(data.getWalSequence());
+
+            out.writeInt(strings.size());
+            for (String value : strings.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            List<Person> persons = nonNull(data.getPersons());
+            out.writeInt(persons.size());
+            for (Person person : persons) {
+                out.writeInt(7 * Integer.BYTES);
+                writeRef(out, strings, person.getFirstName());
+                writeRef(out, strings, person.getLastName());
+                writeRef(out, strings, person.getAddress());
+                writeRef(out, strings, person.getCity());
+                writeRef(out, strings, person.getZip());
+                writeRef(out, strings, person.getPhone());
+                writeRef(out, strings, person.getEmail());
+            }
+
+            List<FireStation> firestations = nonNull(data.getFirestations());
+            out.writeInt(firestations.size());
+            for (FireStation fireStation : firestations) {
+                out.writeInt(2 * Integer.BYTES);
+                writeRef(out, strings, fireStation.getAddress());
+                writeRef(out, strings, fireStation.getStation());
+            }
+
+            List<MedicalRecord> medicalrecords = nonNull(data.getMedicalrecords());
+            out.writeInt(medicalrecords.size());
+            for (MedicalRecord record : medicalrecords) {
+                List<String> allergies = nonNull(record.getAllergies());
+                List<String> medications = nonNull(record.getMedications());
+                out.writeInt(2 * Integer.BYTES + Long.BYTES
+                        + (2 + allergies.size() + medications.size()) * Integer.BYTES);
+                writeRef(out, strings, record.getFirstName());
+                writeRef(out, strings, record.getLastName());
+                out.writeLong(record.getBirthdate() == null ? NULL_DATE : record.getBirthdate().getTime());
+                writeRefs(out, strings, allergies);
+                writeRefs(out, strings, medications);
+            }
+            out.flush();
+            if (sync) {
+                channel.force(true);
+            }
+        }
+        JsonSnapshotWriter.moveAtomically(temporaryFile, target, sync);
+    }
+
+    /**
+     * Relit un instantané binaire en projetant le fichier en mémoire.
+     *
+     * @param source fichier binaire à lire.
+     * @return les données lues, avec des listes modifiables.
+     * @throws IOException si le fichier est illisible, d'un format inconnu ou tronqué.
+     */
+    public FichierJsonDTO read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, IndexOutOfBoundsException... : fichier tronqué ou corrompu
+            throw new IOException("Instantané binaire invalide : " + e, e);
+        }
+    }
+
+    private FichierJsonDTO read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Instantané binaire invalide : identifiant inconnu");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Version d'instantané binaire non supportée : " + version);
+        }
+        long walSequence = buffer.getLong();
+
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int personCount = buffer.getInt();
+        List<Person> persons = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            int next = nextRecord(buffer);
+            persons.add(new Person(ref(buffer, strings), ref(buffer, strings), ref(buffer, strings),
+                    ref(buffer, strings), ref(buffer, strings), ref(buffer, strings), ref(buffer, strings)));
+            buffer.position(next);
+        }
+
+        int fireStationCount = buffer.getInt();
+        List<FireStation> firestations = new ArrayList<>(fireStationCount);
+        for (int i = 0; i < fireStationCount; i++) {
+            int next = nextRecord(buffer);
+            firestations.add(new FireStation(ref(buffer, strings), ref(buffer, strings)));
+            buffer.position(next);
+        }
+
+        int medicalRecordCount = buffer.getInt();
+        List<MedicalRecord> medicalrecords = new ArrayList<>(medicalRecordCount);
+        for (int i = 0; i < medicalRecordCount; i++) {
+            int next = nextRecord(buffer);
+            String firstName = ref(buffer, strings);
+            String lastName = ref(buffer, strings);
+            long birthdate = buffer.getLong();
+            List<String> allergies = refs(buffer, strings);
+            List<String> medications = refs(buffer, strings);
+            medicalrecords.add(new MedicalRecord(firstName, lastName,
+                    birthdate == NULL_DATE ? null : new Date(birthdate), allergies, medications));
+            buffer.position(next);
+        }
+
+        log.debug("BinarySnapshot - {} personne(s), {} caserne(s), {} dossier(s) médical(aux) lus",
+                persons.size(), firestations.size(), medicalrecords.size());
+        return new FichierJsonDTO(persons, firestations, medicalrecords, walSequence);
+    }
+
+    /**
+     * Lit la longueur de l'enregistrement courant et renvoie la position de l'enregistrement suivant.
+     */
+    private static int nextRecord(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        return buffer.position() + length;
+    }
+
+    private static String ref(ByteBuffer buffer, String[] strings) {
+        int index = buffer.getInt();
+        return index == NULL_REF ? null : strings[index];
+    }
+
+    private static List<String> refs(ByteBuffer buffer, String[] strings) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(ref(buffer, strings));
+        }
+        return values;
+    }
+
+    private static void writeRef(DataOutputStream out, Map<String, Integer> strings, String value) throws IOException {
+        out.writeInt(value == null ? NULL_REF : strings.get(value));
+    }
+
+    private static void writeRefs(DataOutputStream out, Map<String, Integer> strings, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeRef(out, strings, value);
+        }
+    }
+
+    /**
+     * Construit la table des chaînes : chaque valeur distincte reçoit un indice, dans l'ordre de première apparition.
+     */
+    private static Map<String, Integer> buildStringTable(FichierJsonDTO data) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Person person : nonNull(data.getPersons())) {
+            intern(strings, person.getFirstName());
+            intern(strings, person.getLastName());
+            intern(strings, person.getAddress());
+            intern(strings, person.getCity());
+            intern(strings, person.getZip());
+            intern(strings, person.getPhone());
+            intern(strings, person.getEmail());
+        }
+        for (FireStation fireStation : nonNull(data.getFirestations())) {
+            intern(strings, fireStation.getAddress());
+            intern(strings, fireStation.getStation());
+        }
+        for (MedicalRecord record : nonNull(data.getMedicalrecords())) {
+            intern(strings, record.getFirstName());
+            intern(strings, record.getLastName());
+            nonNull(record.getAllergies()).forEach(value -> intern(strings, value));
+            nonNull(record.getMedications()).forEach(value -> intern(strings, value));
+        }
+        return strings;
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    private static <T> List<T> nonNull(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+}
@@ -0,0 +1,73 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stockage qui complète un autre stockage (le fichier JSON) par un instantané binaire ({@link BinarySnapshot})
+ * écrit à côté de lui, avec l'extension {@code .bin}.
+ * <p>
+ * Au démarrage, l'instantané binaire est lu à la place du fichier principal s'il est au moins aussi récent
+ * que lui : un fichier JSON modifié à la main reste donc prioritaire. Le fichier principal reste
+ * le format d'import et d'export.
+ */
+@Slf4j
+public class BinarySnapshotDataStore implements DataStore {
+
+    private final DataStore delegate;
+    private final Path binaryFile;
+    private final BinarySnapshot binarySnapshot;
+
+    /**
+     * Crée un stockage complété par un instantané binaire.
+     *
+     * @param delegate stockage principal.
+     * @param sync     indique si l'instantané binaire est synchronisé sur le disque à chaque écriture.
+     */
+    public BinarySnapshotDataStore(DataStore delegate, boolean sync) {
+        this.delegate = delegate;
+        this.binaryFile = delegate.getLocation().resolveSibling(delegate.getLocation().getFileName() + ".bin");
+        this.binarySnapshot = new BinarySnapshot(sync);
+    }
+
+    @Override
+    public FichierJsonDTO load() throws IOException {
+        if (isBinarySnapshotUpToDate()) {
+            try {
+                return binarySnapshot.read(binaryFile);
+            } catch (IOException e) {
+                log.error("BinarySnapshotDataStore - instantané binaire illisible, lecture du fichier principal : {}", e.getMessage());
+            }
+        }
+        return delegate.load();
+    }
+
+    @Override
+    public void save(FichierJsonDTO data) throws IOException {
+        delegate.save(data);
+        // Écrit après le fichier principal, afin d'être au moins aussi récent que lui
+        binarySnapshot.write(binaryFile, data);
+    }
+
+    @Override
+    public Path getLocation() {
+        return delegate.getLocation();
+    }
+
+    private boolean isBinarySnapshotUpToDate() throws IOException {
+        if (!Files.exists(binaryFile)) {
+            return false;
+        }
+        Path location = delegate.getLocation();
+        if (Files.exists(location)
+                && Files.getLastModifiedTime(binaryFile).compareTo(Files.getLastModifiedTime(location)) < 0) {
+            log.info("BinarySnapshotDataStore - instantané binaire plus ancien que {}, lecture du fichier principal", location);
+            return false;
+        }
+        return true;
+    }
+}
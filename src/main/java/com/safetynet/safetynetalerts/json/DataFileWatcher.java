@@ -0,0 +1,127 @@
+package com.safetynet.safetynetalerts.json;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surveille le fichier de données via un {@link WatchService} et demande son rechargement
+ * ({@link JsonFileWriter#reloadIfModified()}) lorsqu'il est modifié par un autre processus.
+ * <p>
+ * Activé par {@code safetynet.persistence.watch=true}. Les écritures de l'application elle-même sont
+ * reconnues par leur date de modification et ignorées.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "safetynet.persistence", name = "watch", havingValue = "true")
+public class DataFileWatcher {
+
+    private final JsonFileWriter jsonFileWriter;
+    private final Path dataFile;
+    private final long debounceMillis;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Crée le surveillant du fichier de données.
+     *
+     * @param jsonFileWriter détenteur des données à recharger.
+     * @param dataStore      stockage dont le fichier est surveillé.
+     * @param properties     paramètres de persistance.
+     */
+    public DataFileWatcher(JsonFileWriter jsonFileWriter, DataStore dataStore, PersistenceProperties properties) {
+        this.jsonFileWriter = jsonFileWriter;
+        this.dataFile = dataStore.getLocation().toAbsolutePath();
+        this.debounceMillis = properties.getWatchDebounce().toMillis();
+    }
+
+    /**
+     * Démarre la surveillance du répertoire contenant le fichier de données.
+     *
+     * @throws IOException si la surveillance ne peut pas être mise en place.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        // Le répertoire est surveillé : un renommage atomique remplace le fichier sans le modifier
+        dataFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(this::watch, "data-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("DataFileWatcher - surveillance de {}", dataFile);
+    }
+
+    /**
+     * Arrête la surveillance.
+     */
+    @PreDestroy
+    public void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.error("DataFileWatcher - erreur lors de l'arrêt de la surveillance : {}", e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = concernsDataFile(key);
+                // Regroupe les événements d'une même écriture externe avant de recharger
+                while (changed) {
+                    WatchKey next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    concernsDataFile(next);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("DataFileWatcher - surveillance arrêtée");
+        }
+    }
+
+    private void reload() {
+        try {
+            jsonFileWriter.reloadIfModified();
+        } catch (RuntimeException e) {
+            // La surveillance continue : le prochain changement du fichier déclenchera un nouvel essai
+            log.error("DataFileWatcher - échec du rechargement : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Consomme les événements de la clé et indique si l'un d'eux concerne le fichier de données.
+     */
+    private boolean concernsDataFile(WatchKey key) {
+        boolean concerned = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || dataFile.getFileName().equals(event.context())) {
+                concerned = true;
+            }
+        }
+        key.reset();
+        return concerned;
+    }
+}
@@ -0,0 +1,28 @@
+package com.safetynet.safetynetalerts.json;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expose via l'actuator la durée de chargement des données au démarrage
+ * ({@code /actuator/metrics/safetynet.data.load.time}).
+ */
+@Component
+@AllArgsConstructor
+public class DataLoadMetrics implements MeterBinder {
+
+    private final JsonFileWriter jsonFileWriter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("safetynet.data.load.time", jsonFileWriter,
+                        TimeUnit.MILLISECONDS, writer -> writer.getLoadDuration().toMillis())
+                .description("Durée du chargement du fichier de données au démarrage")
+                .register(registry);
+    }
+}
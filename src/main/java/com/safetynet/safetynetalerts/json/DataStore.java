@@ -0,0 +1,39 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Support de stockage de l'instantané complet des données, utilisé par {@link JsonFileWriter}
+ * pour le chargement au démarrage et pour chaque compaction du journal.
+ * <p>
+ * L'implémentation est choisie par les propriétés {@code safetynet.persistence.*} (voir {@link DataStoreConfiguration}),
+ * ce qui permet de placer les données sur le volume le plus rapide et de comparer les supports indépendamment.
+ */
+public interface DataStore {
+
+    /**
+     * Charge l'instantané des données.
+     *
+     * @return les données lues, avec des listes modifiables.
+     * @throws IOException en cas d'erreur de lecture.
+     */
+    FichierJsonDTO load() throws IOException;
+
+    /**
+     * Remplace l'instantané des données de manière atomique.
+     *
+     * @param data données à écrire.
+     * @throws IOException en cas d'erreur d'écriture, l'instantané précédent restant alors inchangé.
+     */
+    void save(FichierJsonDTO data) throws IOException;
+
+    /**
+     * Renvoie l'emplacement du fichier de données, à côté duquel est placé le journal d'écriture.
+     *
+     * @return le chemin du fichier de données.
+     */
+    Path getLocation();
+}
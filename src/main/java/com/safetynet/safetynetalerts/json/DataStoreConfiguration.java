@@ -0,0 +1,34 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration du support de stockage des données à partir des propriétés {@code safetynet.persistence.*}.
+ * Un autre {@link DataStore} peut être fourni en déclarant son propre bean.
+ */
+@Configuration
+public class DataStoreConfiguration {
+
+    /**
+     * Crée le stockage correspondant à l'emplacement, au format et à la politique de synchronisation configurés.
+     *
+     * @param properties paramètres de persistance.
+     * @return le stockage des données.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DataStore dataStore(PersistenceProperties properties) {
+        boolean syncSnapshots = properties.getFsync() != PersistenceProperties.FsyncPolicy.NEVER;
+        DataStore dataStore = new JsonDataStore(Path.of(properties.getDataFile()), new ObjectMapper(),
+                properties.isParallelLoad(), syncSnapshots);
+        if (properties.getFormat() == PersistenceProperties.StorageFormat.JSON_AND_BINARY) {
+            dataStore = new BinarySnapshotDataStore(dataStore, syncSnapshots);
+        }
+        return dataStore;
+    }
+}
@@ -0,0 +1,606 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.index.BirthDates;
+import com.safetynet.safetynetalerts.index.DistinctValueIndex;
+import com.safetynet.safetynetalerts.index.GroupIndex;
+import com.safetynet.safetynetalerts.index.Household;
+import com.safetynet.safetynetalerts.index.Keys;
+import com.safetynet.safetynetalerts.index.NameKey;
+import com.safetynet.safetynetalerts.index.PersistentHashMap;
+import com.safetynet.safetynetalerts.index.PersistentMap;
+import com.safetynet.safetynetalerts.index.PersonColumns;
+import com.safetynet.safetynetalerts.index.StringDictionary;
+import com.safetynet.safetynetalerts.index.UniqueIndex;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Instantané immuable et versionné des données en mémoire.
+ * <p>
+ * Une mutation ne modifie jamais un instantané existant : {@link #apply(WalEntry)} produit un nouvel
+ * instantané (copie sur écriture), publié ensuite d'un seul coup par {@link JsonFileWriter}. Les lecteurs
+ * travaillent ainsi sans verrou sur une vue cohérente, pendant que les écritures sont sérialisées.
+ * Les entités d'un instantané ne doivent pas être modifiées : une mise à jour les remplace par de nouveaux objets.
+ * <p>
+ * Chaque instantané porte ses index, maintenus par les mêmes mutations que les listes : un lecteur
+ * voit toujours des index cohérents avec les listes de son instantané.
+ * <p>
+ * Les agrégats par foyer ({@link Household}) sont calculés pour une date donnée : seuls les foyers dont un habitant
+ * ou un dossier médical change sont recalculés, et {@link #withHouseholdsAsOf(LocalDate)} les recalcule tous
+ * au changement de jour, les âges ayant pu évoluer.
+ * <p>
+ * Les adresses, villes, codes postaux et numéros de caserne sont remplacés par leur exemplaire canonique
+ * ({@link StringDictionary}) au chargement et à chaque ajout ou mise à jour : un dictionnaire est partagé
+ * par toutes les versions issues d'un même chargement.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Dataset {
+
+    private final long version; // Numéro de la dernière entrée du journal appliquée
+    private final List<Person> persons;
+    private final List<FireStation> firestations;
+    private final List<MedicalRecord> medicalrecords;
+    @Getter(AccessLevel.NONE)
+    private final UniqueIndex<NameKey, Person> personsByName;
+    @Getter(AccessLevel.NONE)
+    private final GroupIndex<String, Person> personsByAddress;
+    @Getter(AccessLevel.NONE)
+    private final GroupIndex<String, Person> personsByLastName;
+    @Getter(AccessLevel.NONE)
+    private final DistinctValueIndex<String, Person, String> emailsByCity;
+    @Getter(AccessLevel.NONE)
+    private final GroupIndex<String, FireStation> firestationsByStation;
+    @Getter(AccessLevel.NONE)
+    private final UniqueIndex<String, FireStation> firestationsByAddress;
+    @Getter(AccessLevel.NONE)
+    private final UniqueIndex<NameKey, MedicalRecord> medicalRecordsByName;
+    @Getter(AccessLevel.NONE)
+    private final GroupIndex<Integer, MedicalRecord> medicalRecordsByBirthDay; // Trié par jour de naissance
+    @Getter(AccessLevel.NONE)
+    private final PersistentMap<String, Household> households; // Par adresse normalisée
+    private final LocalDate householdsAsOf; // Date de calcul des âges des foyers
+    @Getter(AccessLevel.NONE)
+    private final StringDictionary strings; // Chaînes canoniques des champs très répétés
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<PersonColumns> personColumns = new AtomicReference<>(); // Construites à la demande
+
+    /**
+     * Crée un instantané à partir de données chargées.
+     *
+     * @param version        numéro de la dernière entrée du journal intégrée dans les données.
+     * @param persons        personnes.
+     * @param firestations   casernes.
+     * @param medicalrecords dossiers médicaux.
+     * @param asOf           date de calcul des âges des foyers, la date du jour de l'application.
+     * @return l'instantané, dont les listes sont des copies immuables.
+     */
+    public static Dataset of(long version, List<Person> persons, List<FireStation> firestations,
+                             List<MedicalRecord> medicalrecords, LocalDate asOf) {
+        StringDictionary strings = new StringDictionary();
+        persons.forEach(person -> canonicalize(person, strings));
+        firestations.forEach(fireStation -> canonicalize(fireStation, strings));
+        List<Person> personList = List.copyOf(persons);
+        List<FireStation> fireStationList = List.copyOf(firestations);
+        List<MedicalRecord> medicalRecordList = List.copyOf(medicalrecords);
+        GroupIndex<String, Person> personsByAddress = GroupIndex.build(personList, Dataset::addressKey);
+        UniqueIndex<NameKey, MedicalRecord> medicalRecordsByName = UniqueIndex.build(medicalRecordList, Dataset::medicalRecordKey);
+        return new Dataset(version, personList, fireStationList, medicalRecordList,
+                UniqueIndex.build(personList, Dataset::personKey),
+                personsByAddress,
+                GroupIndex.buildSorted(personList, Dataset::lastNameKey),
+                DistinctValueIndex.build(personList, Dataset::cityKey, Person::getEmail),
+                GroupIndex.build(fireStationList, Dataset::stationKey),
+                UniqueIndex.build(fireStationList, Dataset::fireStationAddressKey),
+                medicalRecordsByName,
+                GroupIndex.buildSorted(medicalRecordList, Dataset::birthDayKey),
+                computeHouseholds(personsByAddress, medicalRecordsByName, asOf),
+                asOf, strings);
+    }
+
+    /**
+     * Renvoie une copie de l'instantané portant un autre numéro de version, sans modification des données.
+     *
+     * @param version nouveau numéro de version.
+     * @return l'instantané renuméroté.
+     */
+    public Dataset withVersion(long version) {
+        return new Dataset(version, persons, firestations, medicalrecords, personsByName, personsByAddress,
+                personsByLastName, emailsByCity, firestationsByStation, firestationsByAddress, medicalRecordsByName,
+                medicalRecordsByBirthDay, households, householdsAsOf, strings);
+    }
+
+    /**
+     * Renvoie une copie de l'instantané dont les foyers sont recalculés pour une autre date, à la même version.
+     *
+     * @param asOf date de calcul des âges.
+     * @return l'instantané recalculé, ou l'instantané lui-même si ses foyers sont déjà calculés pour cette date.
+     */
+    public Dataset withHouseholdsAsOf(LocalDate asOf) {
+        if (asOf.equals(householdsAsOf)) {
+            return this;
+        }
+        return new Dataset(version, persons, firestations, medicalrecords, personsByName, personsByAddress,
+                personsByLastName, emailsByCity, firestationsByStation, firestationsByAddress, medicalRecordsByName,
+                medicalRecordsByBirthDay, computeHouseholds(personsByAddress, medicalRecordsByName, asOf), asOf, strings);
+    }
+
+    /**
+     * Recherche une personne par son prénom et son nom, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param firstName prénom de la personne.
+     * @param lastName  nom de la personne.
+     * @return la première personne correspondante de la liste, ou {@code null} si elle n'existe pas.
+     */
+    public Person findPerson(String firstName, String lastName) {
+        return personsByName.get(NameKey.of(firstName, lastName));
+    }
+
+    /**
+     * Recherche un dossier médical par le prénom et le nom de la personne, sans tenir compte de la casse
+     * ni des espaces superflus.
+     *
+     * @param firstName prénom de la personne.
+     * @param lastName  nom de la personne.
+     * @return le premier dossier correspondant de la liste, ou {@code null} s'il n'existe pas.
+     */
+    public MedicalRecord findMedicalRecord(String firstName, String lastName) {
+        return medicalRecordsByName.get(NameKey.of(firstName, lastName));
+    }
+
+    /**
+     * Renvoie les habitants d'une adresse, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param address l'adresse recherchée.
+     * @return les habitants dans l'ordre de la liste des personnes, vide si l'adresse est inconnue.
+     */
+    public List<Person> findPersonsByAddress(String address) {
+        return personsByAddress.get(Keys.normalize(address));
+    }
+
+    /**
+     * Renvoie les personnes portant un nom de famille, sans tenir compte de la casse, des accents
+     * ni des espaces superflus.
+     *
+     * @param lastName le nom de famille recherché.
+     * @return les personnes dans l'ordre de la liste des personnes, vide si le nom est inconnu.
+     */
+    public List<Person> findPersonsByLastName(String lastName) {
+        return personsByLastName.get(Keys.fold(lastName));
+    }
+
+    /**
+     * Renvoie les personnes dont le nom de famille commence par un préfixe, sans tenir compte de la casse,
+     * des accents ni des espaces superflus.
+     *
+     * @param prefix le début du nom de famille ; un préfixe vide ne renvoie personne.
+     * @return les personnes, triées par nom de famille normalisé.
+     */
+    public List<Person> findPersonsByLastNamePrefix(String prefix) {
+        String key = Keys.fold(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        return personsByLastName.getRange(key, key + Character.MAX_VALUE);
+    }
+
+    /**
+     * Renvoie les emails distincts des habitants d'une ville, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param city la ville recherchée.
+     * @return la liste immuable des emails non vides, dans l'ordre de leur première apparition, vide si la ville est inconnue.
+     */
+    public List<String> findEmailsByCity(String city) {
+        return emailsByCity.get(Keys.normalize(city));
+    }
+
+    /**
+     * Renvoie les adresses couvertes par une caserne, chaque adresse n'apparaissant qu'une fois.
+     *
+     * @param station le numéro de caserne (espaces superflus ignorés).
+     * @return les adresses dans l'ordre de la liste des casernes, vide si le numéro est inconnu.
+     */
+    public List<String> findAddressesByStation(String station) {
+        List<FireStation> mappings = firestationsByStation.get(Keys.normalize(station));
+        List<String> addresses = new ArrayList<>(mappings.size());
+        Set<String> seen = new HashSet<>();
+        for (FireStation fireStation : mappings) {
+            if (seen.add(fireStationAddressKey(fireStation))) {
+                addresses.add(fireStation.getAddress());
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * Renvoie le numéro de la caserne couvrant une adresse, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param address l'adresse recherchée.
+     * @return le numéro de la première caserne couvrant l'adresse, ou {@code null} si l'adresse n'est pas couverte.
+     */
+    public String findStationByAddress(String address) {
+        FireStation fireStation = firestationsByAddress.get(Keys.normalize(address));
+        return fireStation == null ? null : fireStation.getStation();
+    }
+
+    /**
+     * Renvoie les affectations de caserne d'une adresse, sans tenir compte de la casse ni des espaces superflus.
+     *
+     * @param address l'adresse recherchée.
+     * @return la liste immuable des affectations de l'adresse, doublons compris, vide si l'adresse n'est pas couverte.
+     */
+    public List<FireStation> findFireStationsByAddress(String address) {
+        return firestationsByAddress.getAll(Keys.normalize(address));
+    }
+
+    /**
+     * Renvoie l'agrégat du foyer d'une adresse, sans tenir compte de la casse ni des espaces superflus.
+     * L'agrégat précalculé est utilisé s'il date du jour demandé ; sinon il est calculé à la volée.
+     *
+     * @param address l'adresse recherchée.
+     * @param today   date de calcul des âges.
+     * @return l'agrégat du foyer, vide si l'adresse est inconnue.
+     */
+    public Household findHousehold(String address, LocalDate today) {
+        String key = Keys.normalize(address);
+        if (today.equals(householdsAsOf)) {
+            return households.getOrDefault(key, Household.empty());
+        }
+        return household(personsByAddress.get(key), medicalRecordsByName, today);
+    }
+
+    /**
+     * Renvoie les dossiers médicaux des personnes nées dans un intervalle de dates, par une recherche
+     * dans l'index trié des jours de naissance.
+     *
+     * @param fromInclusive premier jour de naissance inclus.
+     * @param toExclusive   jour de naissance exclu.
+     * @return les dossiers, par date de naissance croissante.
+     */
+    public List<MedicalRecord> findMedicalRecordsBornBetween(LocalDate fromInclusive, LocalDate toExclusive) {
+        return medicalRecordsByBirthDay.getRange((int) fromInclusive.toEpochDay(), (int) toExclusive.toEpochDay());
+    }
+
+    /**
+     * Renvoie les personnes ayant plus d'un âge donné à une date, par une recherche dans l'index trié
+     * des jours de naissance : seules les personnes ayant un dossier médical daté sont renvoyées.
+     *
+     * @param age  âge à dépasser, en années.
+     * @param asOf date de calcul des âges.
+     * @return les personnes, de la plus âgée à la plus jeune.
+     */
+    public List<Person> findPersonsOlderThan(int age, LocalDate asOf) {
+        List<MedicalRecord> records = medicalRecordsByBirthDay.getRange(BirthDates.NONE + 1,
+                BirthDates.bornOnOrBefore(age + 1, asOf) + 1);
+        return personsOf(records);
+    }
+
+    /**
+     * Renvoie les personnes correspondant à des dossiers médicaux (même prénom et même nom), dans l'ordre des dossiers.
+     */
+    private List<Person> personsOf(List<MedicalRecord> records) {
+        List<Person> result = new ArrayList<>(records.size());
+        for (MedicalRecord record : records) {
+            NameKey name = medicalRecordKey(record);
+            for (Person person : personsByLastName.get(Keys.fold(name.lastName()))) {
+                if (personKey(person).equals(name)) {
+                    result.add(person);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Renvoie la représentation en colonnes des personnes de l'instantané, construite à la première demande
+     * puis conservée : seuls les instantanés parcourus en entier en paient le coût.
+     *
+     * @return les colonnes des personnes, avec la date de naissance de leur dossier médical.
+     */
+    public PersonColumns getPersonColumns() {
+        PersonColumns columns = personColumns.get();
+        if (columns == null) {
+            columns = PersonColumns.build(persons, person -> medicalRecordsByName.get(personKey(person)));
+            if (!personColumns.compareAndSet(null, columns)) {
+                columns = personColumns.get(); // Construites en parallèle par un autre lecteur
+            }
+        }
+        return columns;
+    }
+
+    private static PersistentMap<String, Household> computeHouseholds(GroupIndex<String, Person> personsByAddress,
+                                                                      UniqueIndex<NameKey, MedicalRecord> medicalRecordsByName,
+                                                                      LocalDate asOf) {
+        Map<String, Household> households = new HashMap<>();
+        personsByAddress.forEach((address, residents) ->
+                households.put(address, household(residents, medicalRecordsByName, asOf)));
+        PersistentMap<String, Household> result = PersistentHashMap.empty();
+        for (Map.Entry<String, Household> household : households.entrySet()) {
+            result = result.with(household.getKey(), household.getValue());
+        }
+        return result;
+    }
+
+    private static Household household(List<Person> residents, UniqueIndex<NameKey, MedicalRecord> medicalRecordsByName,
+                                       LocalDate asOf) {
+        return Household.of(residents, person -> medicalRecordsByName.get(personKey(person)), asOf);
+    }
+
+    /**
+     * Remplace les champs très répétés d'une personne par leur exemplaire canonique (valeurs inchangées).
+     */
+    private static void canonicalize(Person person, StringDictionary strings) {
+        person.setAddress(strings.canonical(person.getAddress()));
+        person.setCity(strings.canonical(person.getCity()));
+        person.setZip(strings.canonical(person.getZip()));
+    }
+
+    /**
+     * Remplace l'adresse et le numéro d'une caserne par leur exemplaire canonique (valeurs inchangées).
+     */
+    private static void canonicalize(FireStation fireStation, StringDictionary strings) {
+        fireStation.setAddress(strings.canonical(fireStation.getAddress()));
+        fireStation.setStation(strings.canonical(fireStation.getStation()));
+    }
+
+    private static NameKey personKey(Person person) {
+        return NameKey.of(person.getFirstName(), person.getLastName());
+    }
+
+    private static String addressKey(Person person) {
+        return Keys.normalize(person.getAddress());
+    }
+
+    private static String lastNameKey(Person person) {
+        return Keys.fold(person.getLastName());
+    }
+
+    private static String cityKey(Person person) {
+        return Keys.normalize(person.getCity());
+    }
+
+    private static String stationKey(FireStation fireStation) {
+        return Keys.normalize(fireStation.getStation());
+    }
+
+    private static String fireStationAddressKey(FireStation fireStation) {
+        return Keys.normalize(fireStation.getAddress());
+    }
+
+    private static NameKey medicalRecordKey(MedicalRecord record) {
+        return NameKey.of(record.getFirstName(), record.getLastName());
+    }
+
+    private static Integer birthDayKey(MedicalRecord record) {
+        return BirthDates.epochDay(record.getBirthdate());
+    }
+
+    /**
+     * Applique une mutation et renvoie le nouvel instantané, dont la version est le numéro de l'entrée.
+     * Seule la liste concernée est copiée ; les autres sont partagées avec l'instantané courant.
+     * La sémantique est celle des repositories : clé prénom + nom (sensible à la casse pour les personnes,
+     * insensible pour les dossiers médicaux) et adresse pour les casernes.
+     *
+     * @param entry la mutation à appliquer.
+     * @return le nouvel instantané, ou {@code null} si la mutation ne modifie rien (élément introuvable).
+     */
+    public Dataset apply(WalEntry entry) {
+        Builder builder = new Builder(this);
+        return builder.apply(entry) ? builder.build(entry.getSequence()) : null;
+    }
+
+    /**
+     * Applique un lot de mutations et renvoie le nouvel instantané. Chaque liste concernée n'est copiée
+     * qu'une seule fois pour tout le lot.
+     *
+     * @param entries les mutations à appliquer, dans l'ordre.
+     * @param version numéro de version du nouvel instantané.
+     * @return le nouvel instantané.
+     */
+    public Dataset applyAll(List<WalEntry> entries, long version) {
+        Builder builder = new Builder(this);
+        entries.forEach(builder::apply);
+        return builder.build(version);
+    }
+
+    /**
+     * Construit l'instantané suivant : une liste n'est copiée qu'à sa première modification, en une seule copie
+     * de ses références ; ses index et les foyers sont des structures persistantes, dont seuls les chemins
+     * des entrées modifiées sont recopiés.
+     */
+    private static final class Builder {
+
+        private final Dataset base;
+        private List<Person> persons;
+        private List<FireStation> firestations;
+        private List<MedicalRecord> medicalrecords;
+        private UniqueIndex.Editor<NameKey, Person> personsByName;
+        private GroupIndex.Editor<String, Person> personsByAddress;
+        private GroupIndex.Editor<String, Person> personsByLastName;
+        private DistinctValueIndex.Editor<String, Person, String> emailsByCity;
+        private GroupIndex.Editor<String, FireStation> firestationsByStation;
+        private UniqueIndex.Editor<String, FireStation> firestationsByAddress;
+        private UniqueIndex.Editor<NameKey, MedicalRecord> medicalRecordsByName;
+        private GroupIndex.Editor<Integer, MedicalRecord> medicalRecordsByBirthDay;
+        private final Set<String> changedAddresses = new HashSet<>(); // Foyers à recalculer
+        private final Set<NameKey> changedMedicalRecords = new HashSet<>(); // Dossiers dont les foyers sont à recalculer
+
+        private Builder(Dataset base) {
+            this.base = base;
+        }
+
+        private boolean apply(WalEntry entry) {
+            switch (entry.getEntity()) {
+                case PERSON -> {
+                    Predicate<Person> key = p -> p.getFirstName().equals(entry.getFirstName())
+                            && p.getLastName().equals(entry.getLastName());
+                    if (persons == null) {
+                        persons = new ArrayList<>(base.persons);
+                        personsByName = base.personsByName.edit();
+                        personsByAddress = base.personsByAddress.edit();
+                        personsByLastName = base.personsByLastName.edit();
+                        emailsByCity = base.emailsByCity.edit();
+                    }
+                    if (entry.getPerson() != null) {
+                        canonicalize(entry.getPerson(), base.strings);
+                    }
+                    return change(persons, entry.getOperation(), key, entry.getPerson(), (previous, value) -> {
+                        personsByName.replaced(previous, value);
+                        personsByAddress.replaced(previous, value);
+                        personsByLastName.replaced(previous, value);
+                        emailsByCity.replaced(previous, value);
+                        if (previous != null) {
+                            changedAddresses.add(addressKey(previous));
+                        }
+                        if (value != null) {
+                            changedAddresses.add(addressKey(value));
+                        }
+                    });
+                }
+                case FIRESTATION -> {
+                    Predicate<FireStation> key = fireStation -> fireStation.getAddress().equals(entry.getAddress());
+                    if (firestations == null) {
+                        firestations = new ArrayList<>(base.firestations);
+                        firestationsByStation = base.firestationsByStation.edit();
+                        firestationsByAddress = base.firestationsByAddress.edit();
+                    }
+                    if (entry.getFireStation() != null) {
+                        canonicalize(entry.getFireStation(), base.strings);
+                    }
+                    return change(firestations, entry.getOperation(), key, entry.getFireStation(), (previous, value) -> {
+                        firestationsByStation.replaced(previous, value);
+                        firestationsByAddress.replaced(previous, value);
+                    });
+                }
+                case MEDICALRECORD -> {
+                    Predicate<MedicalRecord> key = record -> record.getFirstName().equalsIgnoreCase(entry.getFirstName())
+                            && record.getLastName().equalsIgnoreCase(entry.getLastName());
+                    if (medicalrecords == null) {
+                        medicalrecords = new ArrayList<>(base.medicalrecords);
+                        medicalRecordsByName = base.medicalRecordsByName.edit();
+                        medicalRecordsByBirthDay = base.medicalRecordsByBirthDay.edit();
+                    }
+                    return change(medicalrecords, entry.getOperation(), key, entry.getMedicalRecord(),
+                            (previous, value) -> {
+                                medicalRecordsByName.replaced(previous, value);
+                                medicalRecordsByBirthDay.replaced(previous, value);
+                                if (previous != null) {
+                                    changedMedicalRecords.add(medicalRecordKey(previous));
+                                }
+                                if (value != null) {
+                                    changedMedicalRecords.add(medicalRecordKey(value));
+                                }
+                            });
+                }
+                default -> throw new IllegalArgumentException("Entité inconnue : " + entry.getEntity());
+            }
+        }
+
+        private Dataset build(long version) {
+            GroupIndex<String, Person> addressIndex = personsByAddress == null ? base.personsByAddress : personsByAddress.build();
+            GroupIndex<String, Person> lastNameIndex = personsByLastName == null ? base.personsByLastName : personsByLastName.build();
+            UniqueIndex<NameKey, MedicalRecord> medicalRecordIndex =
+                    medicalRecordsByName == null ? base.medicalRecordsByName : medicalRecordsByName.build();
+            return new Dataset(version,
+                    persons == null ? base.persons : Collections.unmodifiableList(persons),
+                    firestations == null ? base.firestations : Collections.unmodifiableList(firestations),
+                    medicalrecords == null ? base.medicalrecords : Collections.unmodifiableList(medicalrecords),
+                    personsByName == null ? base.personsByName : personsByName.build(),
+                    addressIndex,
+                    lastNameIndex,
+                    emailsByCity == null ? base.emailsByCity : emailsByCity.build(),
+                    firestationsByStation == null ? base.firestationsByStation : firestationsByStation.build(),
+                    firestationsByAddress == null ? base.firestationsByAddress : firestationsByAddress.build(),
+                    medicalRecordIndex,
+                    medicalRecordsByBirthDay == null ? base.medicalRecordsByBirthDay : medicalRecordsByBirthDay.build(),
+                    households(addressIndex, lastNameIndex, medicalRecordIndex),
+                    base.householdsAsOf,
+                    base.strings);
+        }
+
+        /**
+         * Recalcule les foyers touchés par les mutations : adresses des personnes ajoutées, modifiées ou supprimées,
+         * et adresses des personnes dont le dossier médical a changé (retrouvées par leur nom de famille).
+         */
+        private PersistentMap<String, Household> households(GroupIndex<String, Person> addressIndex,
+                                                  GroupIndex<String, Person> lastNameIndex,
+                                                  UniqueIndex<NameKey, MedicalRecord> medicalRecordIndex) {
+            for (NameKey name : changedMedicalRecords) {
+                for (Person person : lastNameIndex.get(Keys.fold(name.lastName()))) {
+                    if (personKey(person).equals(name)) {
+                        changedAddresses.add(addressKey(person));
+                    }
+                }
+            }
+            if (changedAddresses.isEmpty()) {
+                return base.households;
+            }
+            PersistentMap<String, Household> households = base.households;
+            for (String address : changedAddresses) {
+                List<Person> residents = addressIndex.get(address);
+                households = residents.isEmpty()
+                        ? households.without(address)
+                        : households.with(address, household(residents, medicalRecordIndex, base.householdsAsOf));
+            }
+            return households;
+        }
+
+        /**
+         * Modifie la liste : ajout en fin de liste, remplacement du premier élément correspondant à la clé,
+         * ou suppression de tous les éléments correspondants. Chaque élément ajouté, remplacé ou supprimé
+         * est signalé à {@code onChange} (élément retiré ou {@code null}, nouvel élément ou {@code null})
+         * pour la mise à jour des index.
+         *
+         * @return true si la liste a été modifiée.
+         */
+        private static <T> boolean change(List<T> list, WalEntry.Operation operation, Predicate<T> key, T value,
+                                          BiConsumer<T, T> onChange) {
+            switch (operation) {
+                case ADD -> {
+                    list.add(value);
+                    onChange.accept(null, value);
+                    return true;
+                }
+                case UPDATE -> {
+                    for (int i = 0; i < list.size(); i++) {
+                        if (key.test(list.get(i))) {
+                            onChange.accept(list.set(i, value), value);
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case DELETE -> {
+                    boolean removed = false;
+                    for (Iterator<T> iterator = list.iterator(); iterator.hasNext(); ) {
+                        T element = iterator.next();
+                        if (key.test(element)) {
+                            iterator.remove();
+                            onChange.accept(element, null);
+                            removed = true;
+                        }
+                    }
+                    return removed;
+                }
+                default -> throw new IllegalArgumentException("Opération inconnue : " + operation);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.safetynet.safetynetalerts.json;
+
+import java.util.List;
+
+/**
+ * Reçoit chaque publication d'un nouvel instantané des données par {@link JsonFileWriter}.
+ * <p>
+ * Appelé sous le verrou des écritures, juste après la publication : les notifications arrivent dans l'ordre
+ * des versions et doivent rester brèves.
+ */
+@FunctionalInterface
+public interface DatasetChangeListener {
+
+    /**
+     * Signale le remplacement de l'instantané courant.
+     *
+     * @param previous instantané remplacé.
+     * @param current  nouvel instantané.
+     * @param entries  mutations appliquées ; vide si seules des données dérivées ont changé
+     *                 (par exemple les foyers recalculés pour une nouvelle date).
+     */
+    void datasetChanged(Dataset previous, Dataset current, List<WalEntry> entries);
+}
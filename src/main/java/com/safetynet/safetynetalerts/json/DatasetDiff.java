@@ -0,0 +1,140 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Calcule les mutations permettant de passer d'un instantané des données à une nouvelle version
+ * (par exemple un fichier de données modifié par un système externe).
+ * <p>
+ * Les éléments sont comparés clé par clé, avec les mêmes clés que {@link Dataset#apply(WalEntry)} :
+ * seuls les éléments ajoutés, modifiés ou supprimés produisent une entrée.
+ */
+public final class DatasetDiff {
+
+    private DatasetDiff() {
+    }
+
+    /**
+     * Calcule les mutations à appliquer à l'instantané courant pour obtenir les données cibles.
+     * Les suppressions précèdent les mises à jour, elles-mêmes suivies des ajouts.
+     *
+     * @param current        instantané courant.
+     * @param persons        personnes cibles.
+     * @param firestations   casernes cibles.
+     * @param medicalrecords dossiers médicaux cibles.
+     * @return les mutations, vide si les données sont identiques.
+     */
+    public static List<WalEntry> between(Dataset current, List<Person> persons, List<FireStation> firestations,
+                                         List<MedicalRecord> medicalrecords) {
+        List<WalEntry> entries = new ArrayList<>();
+        diff(current.getPersons(), persons,
+                person -> person.getFirstName() + '\u0000' + person.getLastName(),
+                DatasetDiff::samePerson,
+                person -> WalEntry.deletePerson(person.getFirstName(), person.getLastName()),
+                person -> WalEntry.updatePerson(person.getFirstName(), person.getLastName(), person),
+                WalEntry::addPerson,
+                entries);
+        diff(current.getFirestations(), firestations,
+                FireStation::getAddress,
+                (a, b) -> Objects.equals(a.getStation(), b.getStation()),
+                fireStation -> WalEntry.deleteFireStation(fireStation.getAddress()),
+                fireStation -> WalEntry.updateFireStation(fireStation.getAddress(), fireStation.getStation()),
+                WalEntry::addFireStation,
+                entries);
+        diff(current.getMedicalrecords(), medicalrecords,
+                record -> record.getFirstName().toLowerCase(Locale.ROOT) + '\u0000' + record.getLastName().toLowerCase(Locale.ROOT),
+                DatasetDiff::sameMedicalRecord,
+                record -> WalEntry.deleteMedicalRecord(record.getFirstName(), record.getLastName()),
+                record -> WalEntry.updateMedicalRecord(record.getFirstName(), record.getLastName(), record),
+                WalEntry::addMedicalRecord,
+                entries);
+        entries.sort((a, b) -> Integer.compare(rank(a), rank(b)));
+        return entries;
+    }
+
+    /**
+     * Compare deux listes regroupées par clé. Une clé présente une seule fois de chaque côté donne une mise à jour ;
+     * une clé dupliquée d'un côté ou de l'autre est remplacée entièrement (suppression puis ajouts).
+     */
+    private static <T> void diff(List<T> current, List<T> target, Function<T, String> key, BiPredicate<T, T> same,
+                                 Function<T, WalEntry> delete, Function<T, WalEntry> update, Function<T, WalEntry> add,
+                                 List<WalEntry> entries) {
+        Map<String, List<T>> before = group(current, key);
+        Map<String, List<T>> after = group(target, key);
+        before.forEach((k, oldValues) -> {
+            if (!after.containsKey(k)) {
+                entries.add(delete.apply(oldValues.get(0)));
+            }
+        });
+        after.forEach((k, newValues) -> {
+            List<T> oldValues = before.get(k);
+            if (oldValues == null) {
+                newValues.forEach(value -> entries.add(add.apply(value)));
+            } else if (oldValues.size() == 1 && newValues.size() == 1) {
+                if (!same.test(oldValues.get(0), newValues.get(0))) {
+                    entries.add(update.apply(newValues.get(0)));
+                }
+            } else if (!sameAll(oldValues, newValues, same)) {
+                entries.add(delete.apply(oldValues.get(0)));
+                newValues.forEach(value -> entries.add(add.apply(value)));
+            }
+        });
+    }
+
+    private static <T> Map<String, List<T>> group(List<T> values, Function<T, String> key) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T value : values) {
+            groups.computeIfAbsent(key.apply(value), k -> new ArrayList<>(1)).add(value);
+        }
+        return groups;
+    }
+
+    private static <T> boolean sameAll(List<T> a, List<T> b, BiPredicate<T, T> same) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!same.test(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rank(WalEntry entry) {
+        return switch (entry.getOperation()) {
+            case DELETE -> 0;
+            case UPDATE -> 1;
+            case ADD -> 2;
+        };
+    }
+
+    private static boolean samePerson(Person a, Person b) {
+        return Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName())
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getCity(), b.getCity())
+                && Objects.equals(a.getZip(), b.getZip())
+                && Objects.equals(a.getPhone(), b.getPhone())
+                && Objects.equals(a.getEmail(), b.getEmail());
+    }
+
+    private static boolean sameMedicalRecord(MedicalRecord a, MedicalRecord b) {
+        return Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName())
+                && Objects.equals(a.getBirthdate(), b.getBirthdate())
+                && Objects.equals(a.getAllergies(), b.getAllergies())
+                && Objects.equals(a.getMedications(), b.getMedications());
+    }
+}
@@ -0,0 +1,23 @@
+package com.safetynet.safetynetalerts.json;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enregistre le filtre qui épingle l'instantané des données pour chaque requête de lecture.
+ */
+@Configuration
+public class DatasetSnapshotConfiguration {
+
+    /**
+     * Déclare le filtre {@link DatasetSnapshotFilter}.
+     *
+     * @param jsonFileWriter détenteur de l'instantané des données.
+     * @return l'enregistrement du filtre.
+     */
+    @Bean
+    public FilterRegistrationBean<DatasetSnapshotFilter> datasetSnapshotFilter(JsonFileWriter jsonFileWriter) {
+        return new FilterRegistrationBean<>(new DatasetSnapshotFilter(jsonFileWriter));
+    }
+}
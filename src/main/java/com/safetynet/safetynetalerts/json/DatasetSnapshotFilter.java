@@ -0,0 +1,46 @@
+package com.safetynet.safetynetalerts.json;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Épingle l'instantané courant des données pendant le traitement d'une requête GET, afin que les
+ * différentes lectures d'un même service (personnes, casernes, dossiers médicaux) portent toutes sur
+ * la même version des données, même si une écriture est publiée entre-temps.
+ */
+public class DatasetSnapshotFilter extends OncePerRequestFilter {
+
+    private final JsonFileWriter jsonFileWriter;
+
+    /**
+     * Crée le filtre.
+     *
+     * @param jsonFileWriter détenteur de l'instantané des données.
+     */
+    public DatasetSnapshotFilter(JsonFileWriter jsonFileWriter) {
+        this.jsonFileWriter = jsonFileWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Les écritures doivent toujours partir de l'instantané le plus récent
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        jsonFileWriter.pinSnapshot();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            jsonFileWriter.unpinSnapshot();
+        }
+    }
+}
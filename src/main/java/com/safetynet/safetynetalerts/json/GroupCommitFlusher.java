@@ -0,0 +1,150 @@
+package com.safetynet.safetynetalerts.json;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Écrivain unique du journal, qui regroupe les mutations reçues pendant une fenêtre de temps
+ * (ou jusqu'à un nombre maximal d'entrées) en une seule écriture suivie d'une seule synchronisation disque.
+ * <p>
+ * Toutes les écritures sur disque (journal et compaction) passent par son unique thread,
+ * ce qui évite qu'une compaction efface des entrées écrites entre-temps.
+ */
+@Slf4j
+public class GroupCommitFlusher implements Closeable {
+
+    private final WriteAheadLog writeAheadLog;
+    private final Duration flushWindow;
+    private final int flushMaxEntries;
+    private final IntConsumer afterFlush;
+    private final ScheduledExecutorService executor;
+
+    private List<WalEntry> pending = new ArrayList<>();
+    private CompletableFuture<Void> pendingFlush = new CompletableFuture<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Crée l'écrivain et démarre son thread.
+     *
+     * @param writeAheadLog   journal dans lequel les lots sont écrits.
+     * @param flushWindow     durée maximale d'attente d'une mutation avant son écriture.
+     * @param flushMaxEntries nombre d'entrées en attente déclenchant une écriture immédiate.
+     * @param afterFlush      traitement exécuté sur le thread d'écriture après chaque lot, avec la taille du lot.
+     */
+    public GroupCommitFlusher(WriteAheadLog writeAheadLog, Duration flushWindow, int flushMaxEntries, IntConsumer afterFlush) {
+        this.writeAheadLog = writeAheadLog;
+        this.flushWindow = flushWindow;
+        this.flushMaxEntries = Math.max(1, flushMaxEntries);
+        this.afterFlush = afterFlush;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "json-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ajoute une entrée au lot en cours.
+     *
+     * @param entry l'entrée à écrire.
+     * @return un futur complété lorsque le lot contenant l'entrée est durablement écrit.
+     */
+    public synchronized CompletableFuture<Void> submit(WalEntry entry) {
+        pending.add(entry);
+        CompletableFuture<Void> durable = pendingFlush;
+        if (pending.size() >= flushMaxEntries) {
+            executor.execute(this::flush);
+        } else if (scheduledFlush == null) {
+            scheduledFlush = executor.schedule(this::flush, flushWindow.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return durable;
+    }
+
+    /**
+     * Exécute un traitement sur le thread d'écriture, après les lots déjà soumis.
+     *
+     * @param task le traitement à exécuter.
+     * @return un futur complété à la fin du traitement.
+     */
+    public CompletableFuture<Void> execute(Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            flush();
+            task.run();
+        }, executor);
+    }
+
+    /**
+     * Exécute un calcul sur le thread d'écriture, après les lots déjà soumis, et en renvoie le résultat.
+     *
+     * @param task le calcul à exécuter.
+     * @param <T>  type du résultat.
+     * @return un futur complété par le résultat, ou en erreur si le calcul lève une exception.
+     */
+    public <T> CompletableFuture<T> call(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            flush();
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Écrit le lot en attente puis arrête le thread d'écriture.
+     */
+    @Override
+    public void close() {
+        executor.execute(this::flush);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.error("GroupCommitFlusher - arrêt du thread d'écriture avant la fin des écritures");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        List<WalEntry> batch;
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            durable = pendingFlush;
+            pending = new ArrayList<>();
+            pendingFlush = new CompletableFuture<>();
+        }
+        try {
+            writeAheadLog.append(batch);
+            durable.complete(null);
+            log.debug("GroupCommitFlusher - lot de {} entrée(s) écrit dans le journal", batch.size());
+        } catch (IOException e) {
+            log.error("GroupCommitFlusher - erreur lors de l'écriture du lot : {}", e.getMessage());
+            durable.completeExceptionally(e);
+            return;
+        }
+        afterFlush.accept(batch.size());
+    }
+}
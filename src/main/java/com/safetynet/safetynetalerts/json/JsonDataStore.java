@@ -0,0 +1,81 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Stockage des données dans un fichier JSON, lu au fil de l'eau par {@link JsonSnapshotReader}
+ * et écrit de manière atomique par {@link JsonSnapshotWriter}.
+ * <p>
+ * Si le fichier n'existe pas encore, il est initialisé à partir du {@code data.json} fourni dans le classpath,
+ * ce qui permet de placer les données hors de l'application packagée.
+ */
+@Slf4j
+public class JsonDataStore implements DataStore {
+
+    private static final String CLASSPATH_SEED = "/data.json";
+
+    private final Path location;
+    private final boolean parallelLoad;
+    private final JsonSnapshotReader snapshotReader;
+    private final JsonSnapshotWriter snapshotWriter;
+
+    /**
+     * Crée un stockage JSON.
+     *
+     * @param location     chemin du fichier de données.
+     * @param objectMapper mapper utilisé pour lire et écrire les éléments.
+     * @param parallelLoad indique si les sections du fichier sont lues en parallèle.
+     * @param sync         indique si chaque écriture est synchronisée sur le disque.
+     */
+    public JsonDataStore(Path location, ObjectMapper objectMapper, boolean parallelLoad, boolean sync) {
+        this.location = location;
+        this.parallelLoad = parallelLoad;
+        this.snapshotReader = new JsonSnapshotReader(objectMapper);
+        this.snapshotWriter = new JsonSnapshotWriter(objectMapper, sync);
+    }
+
+    @Override
+    public FichierJsonDTO load() throws IOException {
+        if (!Files.exists(location)) {
+            seedFromClasspath();
+        }
+        return parallelLoad
+                ? snapshotReader.readParallel(location, ForkJoinPool.commonPool())
+                : snapshotReader.read(location);
+    }
+
+    @Override
+    public void save(FichierJsonDTO data) throws IOException {
+        snapshotWriter.write(location, data);
+    }
+
+    @Override
+    public Path getLocation() {
+        return location;
+    }
+
+    /**
+     * Copie le fichier de données fourni avec l'application vers l'emplacement configuré.
+     */
+    private void seedFromClasspath() throws IOException {
+        try (InputStream seed = JsonDataStore.class.getResourceAsStream(CLASSPATH_SEED)) {
+            if (seed == null) {
+                throw new IOException("Fichier de données introuvable : " + location);
+            }
+            Path parent = location.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.copy(seed, location);
+            log.info("JsonDataStore - fichier de données initialisé depuis le classpath : {}", location);
+        }
+    }
+}
@@ -5,98 +5,416 @@ import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
 import com.safetynet.safetynetalerts.model.FireStation;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
+import com.safetynet.safetynetalerts.service.AgeService;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
  * Cette classe permet de lire et écrire des données dans un fichier JSON.
  * Elle sert à charger les données initiales et à les mettre à jour en fonction des entités de l'application.
+ * <p>
+ * Chaque mutation est ajoutée à un journal d'écriture anticipée ({@link WriteAheadLog}) plutôt que de
+ * réécrire tout le fichier. Le journal est rejoué au démarrage puis réintégré périodiquement dans le
+ * fichier JSON (compaction). Les écritures concurrentes sont regroupées par un {@link GroupCommitFlusher}.
+ * L'emplacement et le format du fichier sont déterminés par le {@link DataStore} configuré.
+ * <p>
+ * Les données en mémoire sont publiées sous la forme d'un instantané immuable ({@link Dataset}), remplacé
+ * atomiquement à chaque écriture : les lecteurs ne prennent aucun verrou et voient toujours une vue cohérente.
+ * Un instantané peut être épinglé pour la durée d'une requête de lecture (voir {@link #pinSnapshot()}).
+ * <p>
+ * En mode lecture seule ({@code safetynet.persistence.read-only}), les données sont chargées une seule fois :
+ * aucun journal n'est écrit et aucun thread d'écriture n'est démarré.
  */
-@Getter
 @Slf4j
 @Repository
 public class JsonFileWriter {
 
-    private static final String JSON_FILE_PATH = "src/main/resources/data.json";
-    private List<Person> persons;
-    private List<FireStation> firestations;
-    private List<MedicalRecord> medicalrecords;
+    private volatile Dataset dataset; // Instantané courant, remplacé à chaque écriture
+    private final ThreadLocal<Dataset> pinnedDataset = new ThreadLocal<>(); // Instantané épinglé par la requête en cours
+    private final List<DatasetChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
-    // Constructeur par défaut qui initialise l'objet en chargeant les données du fichier JSON.
-    public JsonFileWriter() {
+    private final PersistenceProperties properties;
+    private final DataStore dataStore;
+    private final AgeService ageService;
+    private final WriteAheadLog writeAheadLog;
+    private final GroupCommitFlusher groupCommitFlusher; // null en mode lecture seule
+    @Getter
+    private Duration loadDuration; // Durée du chargement du fichier JSON au démarrage
+    private int entriesSinceCompaction; // Modifié uniquement par le thread d'écriture
+    private volatile FileTime knownModifiedTime; // Date de modification du fichier lors du dernier chargement ou de la dernière écriture
+    private volatile long compactedVersion; // Version des données présente dans le fichier (chargée ou compactée)
+
+    // Constructeur qui initialise l'objet en chargeant les données du stockage puis en rejouant le journal.
+    // Les foyers du premier instantané sont calculés pour la date du jour de l'application (AgeService).
+    public JsonFileWriter(PersistenceProperties properties, DataStore dataStore, AgeService ageService) {
+        this.properties = properties;
+        this.dataStore = dataStore;
+        this.ageService = ageService;
+        Path location = dataStore.getLocation();
+        this.writeAheadLog = new WriteAheadLog(location.resolveSibling(location.getFileName() + ".wal"),
+                new ObjectMapper(), properties.getFsync() == PersistenceProperties.FsyncPolicy.ALWAYS);
         loadData();
+        this.groupCommitFlusher = properties.isReadOnly() ? null : new GroupCommitFlusher(writeAheadLog,
+                properties.getFlushWindow(), properties.getFlushMaxEntries(), this::afterFlush);
+        try {
+            replayWriteAheadLog();
+        } catch (RuntimeException e) {
+            if (groupCommitFlusher != null) {
+                groupCommitFlusher.close(); // Démarrage interrompu : le thread d'écriture ne doit pas survivre
+            }
+            throw e;
+        }
+        if (properties.isReadOnly()) {
+            log.info("JsonFileWriter - données chargées en lecture seule");
+        }
     }
 
 
     /**
-     * Charge les données depuis le fichier JSON et les stocke dans les listes correspondantes.
-     * En cas d'erreur de lecture, un message d'erreur est enregistré dans les logs.
+     * Charge les données depuis le stockage configuré ({@link DataStore}) et publie le premier instantané.
+     * En cas d'erreur de lecture, un message d'erreur est enregistré dans les logs et une exception est lancée :
+     * le journal ne doit pas être rejoué sur des données vides, puis compacté par-dessus le fichier existant.
      */
     private void loadData() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        long start = System.nanoTime();
+        FichierJsonDTO fichierJsonDTO;
         try {
-            File jsonFile = new File(JSON_FILE_PATH);
-            // Lire les données et les convertir en listes
-            FichierJsonDTO fichierJsonDTO = objectMapper.readValue(jsonFile, FichierJsonDTO.class);
-            persons = fichierJsonDTO.getPersons();
-            firestations = fichierJsonDTO.getFirestations();
-            medicalrecords = fichierJsonDTO.getMedicalrecords();
+            fichierJsonDTO = dataStore.load();
+            knownModifiedTime = Files.getLastModifiedTime(dataStore.getLocation());
         } catch (IOException e) {
             log.error("JsonFileWriter - erreur lors du chargement des données : {}", e.getMessage());
+            throw new RuntimeException("Erreur lors du chargement des données.");
         }
+        dataset = Dataset.of(fichierJsonDTO.getWalSequence(),
+                fichierJsonDTO.getPersons() == null ? List.of() : fichierJsonDTO.getPersons(),
+                fichierJsonDTO.getFirestations() == null ? List.of() : fichierJsonDTO.getFirestations(),
+                fichierJsonDTO.getMedicalrecords() == null ? List.of() : fichierJsonDTO.getMedicalrecords(),
+                ageService.today());
+        compactedVersion = dataset.getVersion();
+        loadDuration = Duration.ofNanos(System.nanoTime() - start);
+        log.info("JsonFileWriter - données chargées en {} ms", loadDuration.toMillis());
     }
 
     /**
-     * Écrit les données actuelles des listes de l'application dans le fichier JSON.
+     * Rejoue les entrées du journal postérieures au dernier fichier JSON écrit,
+     * puis compacte le résultat dans le fichier si des entrées ont été rejouées (sauf en lecture seule).
+     * En cas d'erreur de lecture du journal, une exception est lancée plutôt que de démarrer sans ses entrées.
+     */
+    private void replayWriteAheadLog() {
+        try {
+            int replayed = 0;
+            Dataset replaying = dataset;
+            for (WalEntry entry : writeAheadLog.readAll()) {
+                if (entry.getSequence() <= replaying.getVersion()) {
+                    continue; // Déjà intégrée dans le fichier JSON
+                }
+                Dataset next = replaying.apply(entry);
+                replaying = next != null ? next : replaying.withVersion(entry.getSequence());
+                replayed++;
+            }
+            dataset = replaying;
+            if (replayed > 0) {
+                log.info("JsonFileWriter - {} entrée(s) du journal rejouée(s)", replayed);
+                if (!properties.isReadOnly()) {
+                    writeToFile();
+                }
+            }
+        } catch (IOException e) {
+            log.error("JsonFileWriter - erreur lors de la relecture du journal : {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la relecture du journal.");
+        }
+    }
+
+    /**
+     * Renvoie l'instantané des données : celui épinglé par la requête en cours s'il existe, sinon l'instantané courant.
+     *
+     * @return l'instantané immuable des données.
+     */
+    public Dataset getDataset() {
+        Dataset pinned = pinnedDataset.get();
+        return pinned != null ? pinned : dataset;
+    }
+
+    /**
+     * Renvoie la liste immuable des personnes de l'instantané (voir {@link #getDataset()}).
+     *
+     * @return la liste des personnes.
+     */
+    public List<Person> getPersons() {
+        return getDataset().getPersons();
+    }
+
+    /**
+     * Renvoie la liste immuable des casernes de l'instantané (voir {@link #getDataset()}).
+     *
+     * @return la liste des casernes.
+     */
+    public List<FireStation> getFirestations() {
+        return getDataset().getFirestations();
+    }
+
+    /**
+     * Renvoie la liste immuable des dossiers médicaux de l'instantané (voir {@link #getDataset()}).
+     *
+     * @return la liste des dossiers médicaux.
+     */
+    public List<MedicalRecord> getMedicalrecords() {
+        return getDataset().getMedicalrecords();
+    }
+
+    /**
+     * Épingle l'instantané courant pour le thread appelant : toutes les lectures suivantes du thread
+     * voient la même version des données, jusqu'à l'appel de {@link #unpinSnapshot()}.
+     */
+    public void pinSnapshot() {
+        pinnedDataset.set(dataset);
+    }
+
+    /**
+     * Libère l'instantané épinglé par le thread appelant.
+     */
+    public void unpinSnapshot() {
+        pinnedDataset.remove();
+    }
+
+    /**
+     * Applique une mutation : calcule le nouvel instantané, le publie, puis journalise l'entrée.
+     * Les écritures sont sérialisées entre elles ; les lectures ne sont jamais bloquées.
+     * L'entrée rejoint le lot en cours du {@link GroupCommitFlusher}, écrit en une seule fois à la fin de la
+     * fenêtre de regroupement. Selon la configuration, l'appel attend que le lot soit durablement écrit.
+     *
+     * @param entry la mutation à appliquer.
+     * @return true si la mutation a modifié les données, false si l'élément visé est introuvable.
+     */
+    public boolean apply(WalEntry entry) {
+        checkWritable();
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            entry.setSequence(dataset.getVersion() + 1);
+            Dataset next = dataset.apply(entry);
+            if (next == null) {
+                return false;
+            }
+            // Publié avant d'être soumis : une compaction sur le thread d'écriture, qui lit l'instantané sans verrou,
+            // ne peut jamais vider le journal d'une entrée absente de l'instantané qu'elle sauvegarde
+            publish(next, List.of(entry));
+            durable = groupCommitFlusher.submit(entry);
+        }
+        if (properties.isWaitForFlush()) {
+            try {
+                durable.join();
+            } catch (CompletionException e) {
+                log.error("apply - erreur lors de l'écriture dans le journal {}", e.getMessage());
+                throw new RuntimeException("Erreur lors de l'écriture dans le journal.");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Écrit l'instantané courant des données dans le fichier JSON puis vide le journal,
+     * dont toutes les entrées sont désormais intégrées au fichier.
      * En cas d'erreur d'écriture, une exception est lancée et un message d'erreur est enregistré dans les logs.
      */
     public void writeToFile() {
-        FichierJsonDTO fichierJsonDTO = new FichierJsonDTO();
-        fichierJsonDTO.setPersons(persons);
-        fichierJsonDTO.setFirestations(firestations);
-        fichierJsonDTO.setMedicalrecords(medicalrecords);
-        ObjectMapper objectMapper = new ObjectMapper();
+        checkWritable();
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(JSON_FILE_PATH), fichierJsonDTO);
-        } catch (IOException e) {
-            log.error("writeToFile - erreur lors de la sauvegarde dans le fichier JSON{}", e.getMessage());
-            throw new RuntimeException("Erreur lors de la sauvegarde dans le fichier JSON.");
+            groupCommitFlusher.execute(this::compact).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
     }
 
     /**
-     * Met à jour la liste des personnes et sauvegarde les modifications dans le fichier JSON.
+     * Recharge le fichier de données s'il a été modifié par un autre processus depuis le dernier chargement
+     * ou la dernière écriture de l'application.
+     * <p>
+     * Le fichier ne contient pas les entrées du journal postérieures à sa version : elles sont rejouées sur la
+     * nouvelle version, afin que les écritures de l'application non encore compactées ne soient pas annulées.
+     * Le résultat est comparé à l'instantané courant ({@link DatasetDiff}) et seules les différences sont appliquées,
+     * en un seul nouvel instantané. Le fichier est ensuite réécrit et le journal vidé, afin que les entrées rejouées
+     * ne le soient pas une seconde fois (sauf en lecture seule, où rien n'est écrit).
      *
-     * @param persons nouvelle liste des personnes à enregistrer.
+     * @return le nombre de mutations appliquées (0 si le fichier n'a pas changé ou est illisible).
      */
-    public void setPersons(List<Person> persons) {
-        this.persons = persons;
-        writeToFile();
+    public int reloadIfModified() {
+        List<WalEntry> entries;
+        ReloadedFile reloaded;
+        synchronized (this) {
+            try {
+                // Sur le thread d'écriture, aucune compaction ne peut vider le journal entre les deux lectures
+                reloaded = properties.isReadOnly() ? readIfModified() : groupCommitFlusher.call(this::readIfModified).join();
+            } catch (IOException | CompletionException e) {
+                log.error("reloadIfModified - erreur lors du rechargement des données : {}",
+                        e instanceof CompletionException ? e.getCause().getMessage() : e.getMessage());
+                return 0;
+            }
+            if (reloaded == null) {
+                return 0; // Fichier inchangé, ou écrit par l'application elle-même
+            }
+            FichierJsonDTO fichierJsonDTO = reloaded.data();
+            Dataset target = Dataset.of(fichierJsonDTO.getWalSequence(),
+                            fichierJsonDTO.getPersons() == null ? List.of() : fichierJsonDTO.getPersons(),
+                            fichierJsonDTO.getFirestations() == null ? List.of() : fichierJsonDTO.getFirestations(),
+                            fichierJsonDTO.getMedicalrecords() == null ? List.of() : fichierJsonDTO.getMedicalrecords(),
+                            dataset.getHouseholdsAsOf())
+                    .applyAll(reloaded.journal(), fichierJsonDTO.getWalSequence());
+            entries = DatasetDiff.between(dataset, target.getPersons(), target.getFirestations(), target.getMedicalrecords());
+            knownModifiedTime = reloaded.modifiedTime();
+            if (!entries.isEmpty()) {
+                publish(dataset.applyAll(entries, Math.max(dataset.getVersion(), fichierJsonDTO.getWalSequence()) + 1), entries);
+            }
+        }
+        if (!properties.isReadOnly() && (!entries.isEmpty() || !reloaded.journal().isEmpty())) {
+            writeToFile(); // Le fichier rechargé n'intègre pas le journal : il est remplacé par l'instantané courant
+        }
+        log.info("JsonFileWriter - fichier de données rechargé : {} modification(s) appliquée(s)", entries.size());
+        return entries.size();
+    }
+
+    /**
+     * Lit le fichier de données s'il a été modifié depuis le dernier chargement ou la dernière écriture,
+     * ainsi que les entrées du journal postérieures à sa version.
+     *
+     * @return le fichier et les entrées du journal, ou {@code null} si le fichier n'a pas été modifié.
+     * @throws IOException en cas d'erreur de lecture.
+     */
+    private ReloadedFile readIfModified() throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(dataStore.getLocation());
+        if (modifiedTime.equals(knownModifiedTime)) {
+            return null;
+        }
+        FichierJsonDTO fichierJsonDTO = dataStore.load();
+        List<WalEntry> journal = writeAheadLog.readAll().stream()
+                .filter(entry -> entry.getSequence() > fichierJsonDTO.getWalSequence())
+                .toList();
+        return new ReloadedFile(fichierJsonDTO, journal, modifiedTime);
+    }
+
+    /**
+     * Recalcule les agrégats par foyer pour une nouvelle date, les âges ayant pu changer.
+     * Les données et la version sont inchangées : rien n'est journalisé, y compris en lecture seule.
+     *
+     * @param today date de calcul des âges.
+     */
+    public synchronized void refreshHouseholds(LocalDate today) {
+        Dataset next = dataset.withHouseholdsAsOf(today);
+        if (next != dataset) {
+            publish(next, List.of());
+        }
+    }
+
+    /**
+     * Enregistre un observateur des changements d'instantané (par exemple pour invalider un cache).
+     *
+     * @param listener l'observateur, notifié après chaque publication.
+     */
+    public void addChangeListener(DatasetChangeListener listener) {
+        changeListeners.add(listener);
     }
 
     /**
-     * Met à jour la liste des casernes de pompiers et sauvegarde les modifications dans le fichier JSON.
+     * Publie un nouvel instantané puis le signale aux observateurs. Appelé sous le verrou des écritures.
      *
-     * @param firestations nouvelle liste des casernes de pompiers à enregistrer.
+     * @param next    le nouvel instantané.
+     * @param entries les mutations qu'il intègre.
+     */
+    private void publish(Dataset next, List<WalEntry> entries) {
+        Dataset previous = dataset;
+        dataset = next;
+        for (DatasetChangeListener listener : changeListeners) {
+            listener.datasetChanged(previous, next, entries);
+        }
+    }
+
+    /**
+     * Écrit le lot en attente et compacte le journal avant l'arrêt de l'application,
+     * sauf si aucune écriture n'a eu lieu depuis la dernière compaction : le fichier est alors déjà à jour.
      */
-    public void setFirestations(List<FireStation> firestations) {
-        this.firestations = firestations;
-        writeToFile();
+    @PreDestroy
+    public void close() {
+        if (properties.isReadOnly()) {
+            return;
+        }
+        if (dataset.getVersion() != compactedVersion) {
+            writeToFile();
+        }
+        groupCommitFlusher.close();
+        try {
+            writeAheadLog.close();
+        } catch (IOException e) {
+            log.error("close - erreur lors de la fermeture du journal {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vérifie que les données peuvent être modifiées.
+     * En mode lecture seule, un message d'erreur est enregistré dans les logs et une exception est lancée.
+     */
+    private void checkWritable() {
+        if (properties.isReadOnly()) {
+            log.error("JsonFileWriter - écriture refusée : les données sont en lecture seule");
+            throw new RuntimeException("Les données sont en lecture seule.");
+        }
     }
 
     /**
-     * Met à jour la liste des dossiers médicaux et sauvegarde les modifications dans le fichier JSON.
+     * Compte les entrées écrites par le {@link GroupCommitFlusher} et déclenche une compaction
+     * une fois le seuil atteint. Exécuté sur le thread d'écriture.
      *
-     * @param medicalrecords nouvelle liste des dossiers médicaux à enregistrer.
+     * @param flushedEntries nombre d'entrées du dernier lot écrit.
+     */
+    private void afterFlush(int flushedEntries) {
+        entriesSinceCompaction += flushedEntries;
+        if (entriesSinceCompaction >= properties.getCompactionThreshold()) {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                log.error("afterFlush - compaction reportée : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Écrit l'instantané des données de manière atomique via le {@link DataStore} et vide le journal.
+     * Exécuté uniquement sur le thread d'écriture, afin qu'aucun lot ne soit écrit dans le journal
+     * entre la copie des données et sa remise à zéro.
+     */
+    private void compact() {
+        // L'instantané est immuable : aucune copie ni verrou n'est nécessaire. Toute entrée déjà soumise au
+        // journal y figure, car apply publie l'instantané avant de soumettre l'entrée
+        Dataset snapshot = dataset;
+        FichierJsonDTO fichierJsonDTO = new FichierJsonDTO(snapshot.getPersons(), snapshot.getFirestations(),
+                snapshot.getMedicalrecords(), snapshot.getVersion());
+        try {
+            dataStore.save(fichierJsonDTO);
+            knownModifiedTime = Files.getLastModifiedTime(dataStore.getLocation());
+            writeAheadLog.truncate();
+            entriesSinceCompaction = 0;
+            compactedVersion = snapshot.getVersion();
+        } catch (IOException e) {
+            log.error("writeToFile - erreur lors de la sauvegarde dans le fichier JSON{}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la sauvegarde dans le fichier JSON.");
+        }
+    }
+
+    /**
+     * Fichier de données relu, avec les entrées du journal qu'il n'intègre pas encore.
      */
-    public void setMedicalrecords(List<MedicalRecord> medicalrecords) {
-        this.medicalrecords = medicalrecords;
-        writeToFile();
+    private record ReloadedFile(FichierJsonDTO data, List<WalEntry> journal, FileTime modifiedTime) {
     }
 }
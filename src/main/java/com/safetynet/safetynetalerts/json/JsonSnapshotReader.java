@@ -0,0 +1,198 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Lit le fichier de données au fil de l'eau via un {@link JsonParser}, élément par élément.
+ * <p>
+ * Contrairement à une lecture complète du document, aucun arbre intermédiaire n'est construit :
+ * chaque personne, caserne ou dossier médical est désérialisé puis transmis directement à sa liste
+ * de destination. La mémoire utilisée reste ainsi proche de la taille finale des données.
+ * <p>
+ * La lecture parallèle ({@link #readParallel(Path, Executor)}) repère d'abord la position de chaque tableau
+ * dans le fichier, sans désérialiser les éléments, puis lit les trois sections simultanément.
+ */
+@Slf4j
+public class JsonSnapshotReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader personReader;
+    private final ObjectReader fireStationReader;
+    private final ObjectReader medicalRecordReader;
+
+    /**
+     * Crée un lecteur utilisant le mapper indiqué pour désérialiser chaque élément.
+     *
+     * @param objectMapper mapper de l'application.
+     */
+    public JsonSnapshotReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.personReader = objectMapper.readerFor(Person.class);
+        this.fireStationReader = objectMapper.readerFor(FireStation.class);
+        this.medicalRecordReader = objectMapper.readerFor(MedicalRecord.class);
+    }
+
+    /**
+     * Lit le fichier de données indiqué.
+     * Les champs inconnus au premier niveau du document sont ignorés.
+     *
+     * @param source fichier de données à lire.
+     * @return les données lues, avec des listes modifiables (vides si absentes du fichier).
+     * @throws IOException en cas d'erreur de lecture ou de document mal formé.
+     */
+    public FichierJsonDTO read(Path source) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Lit le fichier de données en désérialisant les trois sections en parallèle.
+     * <p>
+     * Un premier parcours du document, sans liaison des objets, relève la position en octets du début de
+     * chaque tableau. Chaque section est ensuite lue depuis sa position par une tâche distincte.
+     *
+     * @param source   fichier de données à lire.
+     * @param executor exécuteur des tâches de lecture (par exemple le pool fork-join commun).
+     * @return les données lues, avec des listes modifiables (vides si absentes du fichier).
+     * @throws IOException en cas d'erreur de lecture ou de document mal formé.
+     */
+    public FichierJsonDTO readParallel(Path source, Executor executor) throws IOException {
+        Map<String, Long> sectionOffsets = new HashMap<>();
+        long walSequence = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Le fichier de données doit contenir un objet JSON.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_ARRAY) {
+                    sectionOffsets.put(fieldName, parser.currentTokenLocation().getByteOffset());
+                } else if ("walSequence".equals(fieldName)) {
+                    walSequence = parser.getValueAsLong();
+                }
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        CompletableFuture<List<Person>> persons =
+                readSectionAsync(source, sectionOffsets.get("persons"), personReader, executor);
+        CompletableFuture<List<FireStation>> firestations =
+                readSectionAsync(source, sectionOffsets.get("firestations"), fireStationReader, executor);
+        CompletableFuture<List<MedicalRecord>> medicalrecords =
+                readSectionAsync(source, sectionOffsets.get("medicalrecords"), medicalRecordReader, executor);
+        try {
+            CompletableFuture.allOf(persons, firestations, medicalrecords).join();
+            return new FichierJsonDTO(persons.join(), firestations.join(), medicalrecords.join(), walSequence);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lit de manière asynchrone le tableau débutant à la position indiquée. Une section absente donne une liste vide.
+     */
+    private <T> CompletableFuture<List<T>> readSectionAsync(Path source, Long offset, ObjectReader elementReader,
+                                                            Executor executor) {
+        if (offset == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            List<T> elements = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+                 InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)), BUFFER_SIZE);
+                 JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                parser.nextToken();
+                this.<T>readArray(parser, elementReader, elements::add);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return elements;
+        }, executor);
+    }
+
+    /**
+     * Lit les données depuis le flux indiqué, sans le fermer.
+     *
+     * @param in flux contenant le document JSON.
+     * @return les données lues, avec des listes modifiables (vides si absentes du document).
+     * @throws IOException en cas d'erreur de lecture ou de document mal formé.
+     */
+    public FichierJsonDTO read(InputStream in) throws IOException {
+        FichierJsonDTO data = new FichierJsonDTO(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 0);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Le fichier de données doit contenir un objet JSON.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (fieldName) {
+                    case "persons" -> this.<Person>readArray(parser, personReader, data.getPersons()::add);
+                    case "firestations" -> this.<FireStation>readArray(parser, fireStationReader, data.getFirestations()::add);
+                    case "medicalrecords" -> this.<MedicalRecord>readArray(parser, medicalRecordReader, data.getMedicalrecords()::add);
+                    case "walSequence" -> data.setWalSequence(parser.getValueAsLong());
+                    default -> {
+                        log.debug("JsonSnapshotReader - champ inconnu ignoré : {}", fieldName);
+                        if (value.isStructStart()) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+        log.debug("JsonSnapshotReader - {} personne(s), {} caserne(s), {} dossier(s) médical(aux) lus",
+                data.getPersons().size(), data.getFirestations().size(), data.getMedicalrecords().size());
+        return data;
+    }
+
+    /**
+     * Désérialise un tableau élément par élément, le parseur étant positionné sur son début.
+     * Un tableau {@code null} est traité comme un tableau vide.
+     */
+    private <T> void readArray(JsonParser parser, ObjectReader elementReader, Consumer<T> sink) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Tableau attendu pour le champ " + parser.currentName());
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            sink.accept(elementReader.readValue(parser));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Écrit un instantané complet des données au format JSON compact, élément par élément via un {@link JsonGenerator}.
+ * <p>
+ * L'instantané est d'abord écrit dans un fichier temporaire voisin, synchronisé sur le disque, puis renommé
+ * atomiquement sur le fichier cible : un arrêt brutal pendant l'écriture laisse toujours le fichier
+ * précédent intact.
+ */
+@Slf4j
+public class JsonSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter elementWriter;
+    private final boolean sync;
+
+    /**
+     * Crée un écrivain utilisant le mapper indiqué pour sérialiser chaque élément,
+     * avec synchronisation sur le disque.
+     *
+     * @param objectMapper mapper de l'application.
+     */
+    public JsonSnapshotWriter(ObjectMapper objectMapper) {
+        this(objectMapper, true);
+    }
+
+    /**
+     * Crée un écrivain utilisant le mapper indiqué pour sérialiser chaque élément.
+     *
+     * @param objectMapper mapper de l'application.
+     * @param sync         indique si le fichier et son répertoire sont synchronisés sur le disque.
+     */
+    public JsonSnapshotWriter(ObjectMapper objectMapper, boolean sync) {
+        this.objectMapper = objectMapper;
+        this.sync = sync;
+        // Pas de vidage du tampon après chaque élément : un seul flush en fin d'écriture
+        this.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Écrit les données dans le fichier cible de manière atomique.
+     *
+     * @param target fichier de données à remplacer.
+     * @param data   données à écrire.
+     * @throws IOException en cas d'erreur d'écriture, le fichier cible restant alors inchangé.
+     */
+    public void write(Path target, FichierJsonDTO data) throws IOException {
+        Path temporaryFile = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            writeArray(generator, "persons", data.getPersons());
+            writeArray(generator, "firestations", data.getFirestations());
+            writeArray(generator, "medicalrecords", data.getMedicalrecords());
+            generator.writeNumberField("walSequence", data.getWalSequence());
+            generator.writeEndObject();
+            generator.flush();
+            if (sync) {
+                channel.force(true);
+            }
+        }
+        moveAtomically(temporaryFile, target, sync);
+    }
+
+    private void writeArray(JsonGenerator generator, String fieldName, List<?> elements) throws IOException {
+        generator.writeArrayFieldStart(fieldName);
+        if (elements != null) {
+            for (Object element : elements) {
+                elementWriter.writeValue(generator, element);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Remplace le fichier cible par le fichier source, par un renommage atomique lorsque c'est possible,
+     * puis synchronise le répertoire si demandé.
+     *
+     * @param source fichier temporaire, déjà synchronisé sur le disque.
+     * @param target fichier à remplacer.
+     * @param sync   indique si le répertoire est synchronisé après le renommage.
+     * @throws IOException en cas d'erreur lors du renommage.
+     */
+    static void moveAtomically(Path source, Path target, boolean sync) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.debug("JsonSnapshotWriter - renommage atomique non supporté, remplacement simple de {}", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (sync) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Synchronise le répertoire pour rendre le renommage durable, lorsque le système de fichiers le permet.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("JsonSnapshotWriter - synchronisation du répertoire {} impossible : {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.safetynet.safetynetalerts.json;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de persistance des données, renseignés via les propriétés {@code safetynet.persistence.*}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "safetynet.persistence")
+public class PersistenceProperties {
+
+    /**
+     * Fenêtre pendant laquelle les mutations sont regroupées avant une écriture unique dans le journal.
+     */
+    private Duration flushWindow = Duration.ofMillis(50);
+
+    /**
+     * Nombre de mutations en attente déclenchant une écriture immédiate, sans attendre la fin de la fenêtre.
+     */
+    private int flushMaxEntries = 256;
+
+    /**
+     * Nombre de mutations écrites dans le journal déclenchant sa réintégration dans le fichier de données (compaction).
+     */
+    private int compactionThreshold = 1000;
+
+    /**
+     * Indique si une requête d'écriture attend que sa mutation soit durablement écrite avant de répondre.
+     */
+    private boolean waitForFlush = true;
+
+    /**
+     * Indique si les sections du fichier de données sont lues en parallèle au démarrage.
+     */
+    private boolean parallelLoad = true;
+
+    /**
+     * Chemin du fichier de données, hors des sources de l'application. Initialisé à partir du {@code data.json}
+     * du classpath s'il n'existe pas. Le journal d'écriture est placé à côté, avec l'extension {@code .wal}.
+     */
+    private String dataFile = "./data/data.json";
+
+    /**
+     * Format de stockage des données.
+     */
+    private StorageFormat format = StorageFormat.JSON;
+
+    /**
+     * Politique de synchronisation des écritures sur le disque.
+     */
+    private FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+
+    /**
+     * Mode lecture seule, pour les nœuds qui ne servent que les alertes : données immuables,
+     * aucun journal ni thread d'écriture, endpoints de modification désactivés.
+     */
+    private boolean readOnly = false;
+
+    /**
+     * Indique si les modifications externes du fichier de données sont détectées et appliquées sans redémarrage.
+     */
+    private boolean watch = false;
+
+    /**
+     * Délai d'attente après une modification détectée, pour laisser l'écriture externe se terminer.
+     */
+    private Duration watchDebounce = Duration.ofMillis(500);
+
+    /**
+     * Formats de stockage disponibles.
+     */
+    public enum StorageFormat {
+        /** Fichier JSON uniquement. */
+        JSON,
+        /** Fichier JSON complété par un instantané binaire, lu en priorité au démarrage lorsqu'il est à jour. */
+        JSON_AND_BINARY
+    }
+
+    /**
+     * Politiques de synchronisation sur le disque.
+     */
+    public enum FsyncPolicy {
+        /** Chaque lot du journal et chaque instantané sont synchronisés : aucune écriture acquittée n'est perdue. */
+        ALWAYS,
+        /** Seuls les instantanés sont synchronisés : un arrêt brutal du système peut perdre les derniers lots du journal. */
+        SNAPSHOT,
+        /** Aucune synchronisation, pour un stockage en mémoire (tmpfs) ou des mesures de performance. */
+        NEVER
+    }
+}
@@ -0,0 +1,116 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Enregistrement du journal d'écriture anticipée (write-ahead log).
+ * Chaque instance décrit une seule mutation (ajout, mise à jour ou suppression) effectuée
+ * par un repository, ce qui permet de rejouer les modifications au démarrage
+ * sans réécrire l'intégralité du fichier JSON à chaque requête.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalEntry {
+
+    /**
+     * Type d'opération journalisée.
+     */
+    public enum Operation { ADD, UPDATE, DELETE }
+
+    /**
+     * Type d'entité concernée par l'opération.
+     */
+    public enum EntityType { PERSON, FIRESTATION, MEDICALRECORD }
+
+    private long sequence;                // Numéro d'ordre attribué à l'écriture dans le journal
+    private Operation operation;          // Opération effectuée
+    private EntityType entity;            // Entité concernée
+    private String firstName;             // Clé d'une personne ou d'un dossier médical
+    private String lastName;              // Clé d'une personne ou d'un dossier médical
+    private String address;               // Clé d'une caserne
+    private Person person;                // Données de la personne (ajout / mise à jour)
+    private FireStation fireStation;      // Données de la caserne (ajout / mise à jour)
+    private MedicalRecord medicalRecord;  // Données du dossier médical (ajout / mise à jour)
+
+    /**
+     * Construit l'entrée journalisant l'ajout d'une personne.
+     */
+    public static WalEntry addPerson(Person person) {
+        return new WalEntry(0, Operation.ADD, EntityType.PERSON,
+                person.getFirstName(), person.getLastName(), null, person, null, null);
+    }
+
+    /**
+     * Construit l'entrée journalisant la mise à jour d'une personne identifiée par son prénom et son nom.
+     */
+    public static WalEntry updatePerson(String firstName, String lastName, Person updatedPerson) {
+        return new WalEntry(0, Operation.UPDATE, EntityType.PERSON,
+                firstName, lastName, null, updatedPerson, null, null);
+    }
+
+    /**
+     * Construit l'entrée journalisant la suppression d'une personne.
+     */
+    public static WalEntry deletePerson(String firstName, String lastName) {
+        return new WalEntry(0, Operation.DELETE, EntityType.PERSON,
+                firstName, lastName, null, null, null, null);
+    }
+
+    /**
+     * Construit l'entrée journalisant l'ajout d'une association caserne/adresse.
+     */
+    public static WalEntry addFireStation(FireStation fireStation) {
+        return new WalEntry(0, Operation.ADD, EntityType.FIRESTATION,
+                null, null, fireStation.getAddress(), null, fireStation, null);
+    }
+
+    /**
+     * Construit l'entrée journalisant le changement de numéro de caserne d'une adresse.
+     */
+    public static WalEntry updateFireStation(String address, String newStationNumber) {
+        return new WalEntry(0, Operation.UPDATE, EntityType.FIRESTATION,
+                null, null, address, null, new FireStation(address, newStationNumber), null);
+    }
+
+    /**
+     * Construit l'entrée journalisant la suppression d'une association caserne/adresse.
+     */
+    public static WalEntry deleteFireStation(String address) {
+        return new WalEntry(0, Operation.DELETE, EntityType.FIRESTATION,
+                null, null, address, null, null, null);
+    }
+
+    /**
+     * Construit l'entrée journalisant l'ajout d'un dossier médical.
+     */
+    public static WalEntry addMedicalRecord(MedicalRecord medicalRecord) {
+        return new WalEntry(0, Operation.ADD, EntityType.MEDICALRECORD,
+                medicalRecord.getFirstName(), medicalRecord.getLastName(), null, null, null, medicalRecord);
+    }
+
+    /**
+     * Construit l'entrée journalisant la mise à jour d'un dossier médical.
+     */
+    public static WalEntry updateMedicalRecord(String firstName, String lastName, MedicalRecord updatedMedicalRecord) {
+        return new WalEntry(0, Operation.UPDATE, EntityType.MEDICALRECORD,
+                firstName, lastName, null, null, null, updatedMedicalRecord);
+    }
+
+    /**
+     * Construit l'entrée journalisant la suppression d'un dossier médical.
+     */
+    public static WalEntry deleteMedicalRecord(String firstName, String lastName) {
+        return new WalEntry(0, Operation.DELETE, EntityType.MEDICALRECORD,
+                firstName, lastName, null, null, null, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal d'écriture anticipée (write-ahead log) stocké au format JSON Lines à côté du fichier de données.
+ * Chaque mutation est ajoutée en fin de fichier sous la forme d'une ligne, ce qui rend le coût
+ * d'une écriture indépendant de la taille du jeu de données.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean sync;
+    private FileChannel channel;
+
+    /**
+     * Crée un journal associé au fichier indiqué, synchronisé sur le disque à chaque écriture.
+     *
+     * @param path         chemin du fichier journal.
+     * @param objectMapper mapper utilisé pour sérialiser les entrées.
+     */
+    public WriteAheadLog(Path path, ObjectMapper objectMapper) {
+        this(path, objectMapper, true);
+    }
+
+    /**
+     * Crée un journal associé au fichier indiqué.
+     *
+     * @param path         chemin du fichier journal.
+     * @param objectMapper mapper utilisé pour sérialiser les entrées.
+     * @param sync         indique si chaque écriture est synchronisée sur le disque.
+     */
+    public WriteAheadLog(Path path, ObjectMapper objectMapper, boolean sync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.sync = sync;
+    }
+
+    /**
+     * Lit toutes les entrées présentes dans le journal, dans l'ordre d'écriture.
+     * Une dernière ligne tronquée (arrêt brutal pendant une écriture) est ignorée.
+     *
+     * @return la liste des entrées lues, vide si le journal n'existe pas.
+     * @throws IOException en cas d'erreur de lecture.
+     */
+    public List<WalEntry> readAll() throws IOException {
+        List<WalEntry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, WalEntry.class));
+                } catch (IOException e) {
+                    log.error("WriteAheadLog - entrée illisible ignorée, arrêt de la relecture : {}", e.getMessage());
+                    break;
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Ajoute une entrée en fin de journal.
+     *
+     * @param entry l'entrée à ajouter.
+     * @throws IOException en cas d'erreur d'écriture.
+     */
+    public void append(WalEntry entry) throws IOException {
+        append(List.of(entry));
+    }
+
+    /**
+     * Ajoute un lot d'entrées en fin de journal en une seule écriture, suivie d'une seule synchronisation disque
+     * (sauf si le journal est configuré sans synchronisation).
+     *
+     * @param entries les entrées à ajouter, dans l'ordre.
+     * @throws IOException en cas d'erreur d'écriture.
+     */
+    public synchronized void append(List<WalEntry> entries) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (WalEntry entry : entries) {
+            objectMapper.writeValue(lines, entry);
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        FileChannel fileChannel = channel();
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+        if (sync) {
+            fileChannel.force(false);
+        }
+    }
+
+    /**
+     * Vide le journal, une fois son contenu intégré dans le fichier de données.
+     *
+     * @throws IOException en cas d'erreur d'écriture.
+     */
+    public synchronized void truncate() throws IOException {
+        FileChannel fileChannel = channel();
+        fileChannel.truncate(0);
+        if (sync) {
+            fileChannel.force(true);
+        }
+    }
+
+    /**
+     * Ferme le fichier journal s'il est ouvert.
+     *
+     * @throws IOException en cas d'erreur lors de la fermeture.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
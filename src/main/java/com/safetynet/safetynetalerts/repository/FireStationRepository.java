@@ -1,12 +1,12 @@
 package com.safetynet.safetynetalerts.repository;
 
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
 import com.safetynet.safetynetalerts.model.FireStation;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 
 /**
@@ -29,9 +29,7 @@ public class FireStationRepository {
      */
     public void addFireStation(FireStation fireStation) {
 
-        List<FireStation> firestations = jsonFileWriter.getFirestations();
-        firestations.add(fireStation);
-        jsonFileWriter.setFirestations(firestations);
+        jsonFileWriter.apply(WalEntry.addFireStation(fireStation));
     }
 
     /**
@@ -46,15 +44,9 @@ public class FireStationRepository {
      * @return true si la mise à jour a réussi, false si aucune caserne à cette adresse n'a été trouvée.
      */
     public boolean updateFireStation(String address, String newStationNumber) {
-        List<FireStation> firestations = jsonFileWriter.getFirestations();
-        Optional<FireStation> fireStationOptional = firestations.stream()
-                .filter(fireStation -> fireStation.getAddress().equals(address))
-                .findFirst();
-
-        if (fireStationOptional.isPresent()) {
-            fireStationOptional.get().setStation(newStationNumber);
-            jsonFileWriter.setFirestations(firestations);
-            return true; // Mise à jour réussie
+        if (jsonFileWriter.getDataset().findStationByAddress(address) != null) {
+            // La caserne existante n'est pas modifiée : elle est remplacée dans un nouvel instantané
+            return jsonFileWriter.apply(WalEntry.updateFireStation(address, newStationNumber)); // Mise à jour réussie
         }
         return false; // Adresse non trouvée
     }
@@ -69,10 +61,7 @@ public class FireStationRepository {
      * @return true si la caserne a été supprimée avec succès, false sinon.
      */
     public boolean deleteFireStation(String address) {
-        List<FireStation> firestations = jsonFileWriter.getFirestations();
-        boolean resultat = firestations.removeIf(fireStation -> fireStation.getAddress().equals(address));
-        jsonFileWriter.setFirestations(firestations);
-        return resultat;
+        return jsonFileWriter.apply(WalEntry.deleteFireStation(address));
     }
 
     /**
@@ -86,6 +75,29 @@ public class FireStationRepository {
         return jsonFileWriter.getFirestations();
     }
 
+    /**
+     * Obtenir les adresses couvertes par une caserne.
+     * <p>
+     * La recherche utilise l'index numéro de caserne → adresses de l'instantané courant.
+     *
+     * @param stationNumber Le numéro de la caserne.
+     * @return Les adresses couvertes, sans doublon, vide si le numéro est inconnu.
+     */
+    public List<String> getAddressesByStation(String stationNumber) {
+        return jsonFileWriter.getDataset().findAddressesByStation(stationNumber);
+    }
+
+    /**
+     * Obtenir le numéro de la caserne couvrant une adresse.
+     * <p>
+     * La recherche utilise l'index adresse → caserne de l'instantané courant.
+     *
+     * @param address L'adresse recherchée.
+     * @return Le numéro de la caserne, ou null si l'adresse n'est pas couverte.
+     */
+    public String getStationByAddress(String address) {
+        return jsonFileWriter.getDataset().findStationByAddress(address);
+    }
 }
 
 
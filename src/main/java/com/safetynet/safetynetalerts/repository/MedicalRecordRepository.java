@@ -1,12 +1,12 @@
 package com.safetynet.safetynetalerts.repository;
 
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @AllArgsConstructor
@@ -18,9 +18,7 @@ public class MedicalRecordRepository {
      * @param medicalRecord Le dossier médical à ajouter
      */
     public void addMedicalRecord(MedicalRecord medicalRecord) {
-        List<MedicalRecord> medicalrecords= jsonFileWriter.getMedicalrecords();
-        medicalrecords.add(medicalRecord);
-        jsonFileWriter.setMedicalrecords(medicalrecords);
+        jsonFileWriter.apply(WalEntry.addMedicalRecord(medicalRecord));
     }
 
     /**
@@ -31,17 +29,9 @@ public class MedicalRecordRepository {
      * @return true si la mise à jour est réussie, false sinon
      */
     public boolean updateMedicalRecord(String firstName, String lastName, MedicalRecord updatedMedicalRecord) {
-        List<MedicalRecord> medicalrecords= jsonFileWriter.getMedicalrecords();
-        Optional<MedicalRecord> existingRecord = medicalrecords.stream()
-                .filter(record -> record.getFirstName().equalsIgnoreCase(firstName)
-                        && record.getLastName().equalsIgnoreCase(lastName))
-                .findFirst();
-
-        if (existingRecord.isPresent()) {
-            int index = medicalrecords.indexOf(existingRecord.get());
-            medicalrecords.set(index, updatedMedicalRecord);
-            jsonFileWriter.setMedicalrecords(medicalrecords);
-            return true;
+        if (findMedicalRecord(firstName, lastName) != null) {
+            // Le dossier existant est remplacé dans un nouvel instantané
+            return jsonFileWriter.apply(WalEntry.updateMedicalRecord(firstName, lastName, updatedMedicalRecord));
         }
         return false;
     }
@@ -53,12 +43,17 @@ public class MedicalRecordRepository {
      * @return true si la suppression est réussie, false sinon
      */
     public boolean deleteMedicalRecord(String firstName, String lastName) {
-        List<MedicalRecord> medicalrecords= jsonFileWriter.getMedicalrecords();
-        boolean resultat = medicalrecords.removeIf(record ->
-                record.getFirstName().equalsIgnoreCase(firstName)
-                        && record.getLastName().equalsIgnoreCase(lastName));
-        jsonFileWriter.setMedicalrecords(medicalrecords);
-        return resultat;
+        return jsonFileWriter.apply(WalEntry.deleteMedicalRecord(firstName, lastName));
+    }
+
+    /**
+     * Rechercher le dossier médical d'une personne via l'index nominatif de l'instantané courant.
+     * @param firstName Prénom de l'utilisateur
+     * @param lastName Nom de famille de l'utilisateur
+     * @return Le dossier médical, ou null s'il n'existe pas
+     */
+    public MedicalRecord findMedicalRecord(String firstName, String lastName) {
+        return jsonFileWriter.getDataset().findMedicalRecord(firstName, lastName);
     }
 
     /**
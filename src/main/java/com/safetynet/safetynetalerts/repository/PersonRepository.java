@@ -1,13 +1,16 @@
 package com.safetynet.safetynetalerts.repository;
 
+import com.safetynet.safetynetalerts.index.AgeStatistics;
+import com.safetynet.safetynetalerts.index.Household;
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
 import com.safetynet.safetynetalerts.model.Person;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -21,9 +24,7 @@ public class PersonRepository {
      * @return La personne ajoutée.
      */
     public Person addPerson(Person person) {
-        List<Person> persons = jsonFileWriter.getPersons();
-        persons.add(person);
-        jsonFileWriter.setPersons(persons);
+        jsonFileWriter.apply(WalEntry.addPerson(person));
         return person; // Retourne la personne après l'avoir ajoutée
     }
     /**
@@ -42,14 +43,13 @@ public class PersonRepository {
 
         if (existingPersonOpt.isPresent()) {
             Person existingPerson = existingPersonOpt.get();
-            // Mettre à jour les champs modifiables
-            existingPerson.setAddress(updatedPerson.getAddress());
-            existingPerson.setCity(updatedPerson.getCity());
-            existingPerson.setZip(updatedPerson.getZip());
-            existingPerson.setPhone(updatedPerson.getPhone());
-            existingPerson.setEmail(updatedPerson.getEmail());
-            jsonFileWriter.setPersons(persons);
-            return existingPerson; // Retourne la personne après la mise à jour
+            // Nouvel objet : la personne existante peut être lue en parallèle et n'est jamais modifiée
+            Person mergedPerson = new Person(existingPerson.getFirstName(), existingPerson.getLastName(),
+                    updatedPerson.getAddress(), updatedPerson.getCity(), updatedPerson.getZip(),
+                    updatedPerson.getPhone(), updatedPerson.getEmail());
+            if (jsonFileWriter.apply(WalEntry.updatePerson(firstName, lastName, mergedPerson))) {
+                return mergedPerson; // Retourne la personne après la mise à jour
+            }
         }
 
         return null; // Retourne null si aucune personne correspondante n'est trouvée
@@ -63,14 +63,93 @@ public class PersonRepository {
      */
     public boolean deletePerson(String firstName, String lastName) {
 
-        List<Person> persons = jsonFileWriter.getPersons();
-        int initialSize = persons.size();
-        persons = persons.stream()
-                .filter(p -> !(p.getFirstName().equals(firstName) && p.getLastName().equals(lastName)))
-                .collect(Collectors.toList());
+        boolean resultat = jsonFileWriter.apply(WalEntry.deletePerson(firstName, lastName));
+        return resultat; // Retourne true si une personne a été supprimée
+    }
+
+    /**
+     * Rechercher une personne via l'index nominatif de l'instantané courant.
+     * @param firstName Le prénom de la personne.
+     * @param lastName Le nom de famille de la personne.
+     * @return La personne, ou null si elle n'existe pas.
+     */
+    public Person findPerson(String firstName, String lastName) {
+        return jsonFileWriter.getDataset().findPerson(firstName, lastName);
+    }
+
+    /**
+     * Récupérer les habitants d'une adresse via l'index des adresses de l'instantané courant.
+     * @param address L'adresse recherchée (casse et espaces superflus ignorés).
+     * @return Liste immuable des habitants, vide si l'adresse est inconnue.
+     */
+    public List<Person> getPersonsByAddress(String address) {
+        return jsonFileWriter.getDataset().findPersonsByAddress(address);
+    }
+
+    /**
+     * Récupérer l'agrégat du foyer d'une adresse (habitants, téléphones, nombre d'adultes et d'enfants).
+     * @param address L'adresse recherchée (casse et espaces superflus ignorés).
+     * @param today La date de calcul des âges.
+     * @return L'agrégat du foyer, vide si l'adresse est inconnue.
+     */
+    public Household getHousehold(String address, LocalDate today) {
+        return jsonFileWriter.getDataset().findHousehold(address, today);
+    }
+
+    /**
+     * Récupérer les personnes ayant plus d'un âge donné via l'index des dates de naissance de l'instantané courant.
+     * @param age L'âge à dépasser, en années.
+     * @param today La date de calcul des âges.
+     * @return Les personnes ayant un dossier médical daté, de la plus âgée à la plus jeune.
+     */
+    public List<Person> getPersonsOlderThan(int age, LocalDate today) {
+        return jsonFileWriter.getDataset().findPersonsOlderThan(age, today);
+    }
 
-        jsonFileWriter.setPersons(persons);
-        return persons.size() < initialSize; // Retourne true si une personne a été supprimée
+    /**
+     * Compter les habitants d'une ville par un parcours de la représentation en colonnes de l'instantané courant.
+     * @param city La ville recherchée (casse et espaces superflus ignorés).
+     * @return Le nombre d'habitants, 0 si la ville est inconnue.
+     */
+    public int countPersonsByCity(String city) {
+        return jsonFileWriter.getDataset().getPersonColumns().countByCity(city);
+    }
+
+    /**
+     * Calculer les statistiques d'âge par un parcours de la représentation en colonnes de l'instantané courant.
+     * @param city La ville recherchée, ou null pour toute la population.
+     * @param today La date de calcul des âges.
+     * @return Les nombres d'adultes, d'enfants et de personnes sans dossier médical.
+     */
+    public AgeStatistics getAgeStatistics(String city, LocalDate today) {
+        return jsonFileWriter.getDataset().getPersonColumns().ageStatistics(city, today);
+    }
+
+    /**
+     * Récupérer les personnes portant un nom de famille via l'index des noms de l'instantané courant.
+     * @param lastName Le nom de famille (casse, accents et espaces superflus ignorés).
+     * @return Liste immuable des personnes, vide si le nom est inconnu.
+     */
+    public List<Person> getPersonsByLastName(String lastName) {
+        return jsonFileWriter.getDataset().findPersonsByLastName(lastName);
+    }
+
+    /**
+     * Récupérer les personnes dont le nom de famille commence par un préfixe, via l'index trié des noms.
+     * @param prefix Le début du nom de famille (casse, accents et espaces superflus ignorés).
+     * @return Liste des personnes triées par nom de famille, vide si le préfixe est vide.
+     */
+    public List<Person> getPersonsByLastNamePrefix(String prefix) {
+        return jsonFileWriter.getDataset().findPersonsByLastNamePrefix(prefix);
+    }
+
+    /**
+     * Récupérer les emails distincts des habitants d'une ville via l'index des villes de l'instantané courant.
+     * @param city La ville recherchée (casse et espaces superflus ignorés).
+     * @return Liste immuable des emails non vides, sans doublon, vide si la ville est inconnue.
+     */
+    public List<String> getEmailsByCity(String city) {
+        return jsonFileWriter.getDataset().findEmailsByCity(city);
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.safetynet.safetynetalerts.service;
+
+import com.safetynet.safetynetalerts.index.BirthDates;
+import com.safetynet.safetynetalerts.index.Household;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Calcul des âges partagé par tous les services.
+ * <p>
+ * La date du jour est calculée une seule fois, dans le fuseau {@code safetynet.age.zone}, puis conservée
+ * jusqu'au passage à minuit dans ce fuseau ({@link #rollover()}), qui publie un {@link DayChangedEvent}.
+ * Un âge se calcule ensuite à partir du jour de naissance ({@link BirthDates}) par de simples opérations
+ * sur des entiers, sans allocation.
+ */
+@Slf4j
+@Service
+public class AgeService {
+
+    private final ZoneId zone;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile Today today; // Remplacée d'un seul coup au changement de date
+
+    /**
+     * Crée le service et calcule la date du jour.
+     *
+     * @param zone           fuseau horaire définissant la date du jour.
+     * @param eventPublisher publication du changement de date.
+     */
+    public AgeService(@Value("${safetynet.age.zone:UTC}") String zone, ApplicationEventPublisher eventPublisher) {
+        this.zone = ZoneId.of(zone);
+        this.eventPublisher = eventPublisher;
+        this.today = new Today(LocalDate.now(this.zone));
+    }
+
+    /**
+     * Renvoie la date du jour mise en cache.
+     *
+     * @return la date du jour dans le fuseau configuré.
+     */
+    public LocalDate today() {
+        return today.date;
+    }
+
+    /**
+     * Calcule l'âge révolu à la date du jour.
+     *
+     * @param birthDay jour de naissance en nombre de jours depuis le 1er janvier 1970 ({@link BirthDates#NONE} : âge 0).
+     * @return l'âge en années.
+     */
+    public int age(int birthDay) {
+        return BirthDates.age(birthDay, today.packed);
+    }
+
+    /**
+     * Calcule l'âge révolu à la date du jour.
+     *
+     * @param birthDate la date de naissance ({@code null} : âge 0).
+     * @return l'âge en années.
+     */
+    public int age(Date birthDate) {
+        return age(BirthDates.epochDay(birthDate));
+    }
+
+    /**
+     * Indique si une personne est un enfant ({@link Household#CHILD_MAX_AGE} ans ou moins) à la date du jour.
+     *
+     * @param birthDate la date de naissance ({@code null} : âge 0, donc enfant).
+     * @return true pour un enfant.
+     */
+    public boolean isChild(Date birthDate) {
+        return age(birthDate) <= Household.CHILD_MAX_AGE;
+    }
+
+    /**
+     * Recalcule la date du jour, chaque jour à minuit dans le fuseau configuré, et publie un
+     * {@link DayChangedEvent} si elle a changé.
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "${safetynet.age.zone:UTC}")
+    public void rollover() {
+        LocalDate date = LocalDate.now(zone);
+        if (date.equals(today.date)) {
+            return;
+        }
+        today = new Today(date);
+        log.info("AgeService - nouvelle date du jour : {}", date);
+        eventPublisher.publishEvent(new DayChangedEvent(date));
+    }
+
+    /**
+     * Date du jour et sa forme compacte, utilisée par les calculs d'âge.
+     */
+    private static final class Today {
+
+        private final LocalDate date;
+        private final int packed;
+
+        private Today(LocalDate date) {
+            this.date = date;
+            this.packed = BirthDates.packed((int) date.toEpochDay());
+        }
+    }
+}
@@ -3,14 +3,13 @@ package com.safetynet.safetynetalerts.service;
 import com.safetynet.safetynetalerts.dto.ChildAlertDTO;
 import com.safetynet.safetynetalerts.dto.ChildAlertDTO.ChildInfo;
 import com.safetynet.safetynetalerts.dto.ChildAlertDTO.HouseholdMember;
+import com.safetynet.safetynetalerts.index.Household;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -22,6 +21,7 @@ public class ChildAlertService {
 
     private final PersonService personService;
     private final MedicalRecordService medicalRecordService;
+    private final AgeService ageService;
 
     /**
      * Récupère les informations sur les enfants et les membres du foyer pour une adresse donnée.
@@ -32,26 +32,16 @@ public class ChildAlertService {
     public ChildAlertDTO getChildrenAtAddress(String address) {
         log.debug("Début de la méthode getChildrenAtAddress avec l'adresse : {}", address); // Début de la méthode
 
-        // Récupérer toutes les personnes enregistrées et filtrer celles vivant à l'adresse donnée
-        List<Person> allPersons = personService.getAllPersons();
-        List<Person> personsAtAddress = allPersons.stream()
-                .filter(person -> address.equals(person.getAddress()))
-                .toList();
+        // Récupérer les personnes vivant à l'adresse donnée via l'index des adresses
+        List<Person> personsAtAddress = personService.getPersonsByAddress(address);
         log.debug("Nombre de personnes trouvées à l'adresse {} : {}", address, personsAtAddress.size()); // Nombre de personnes trouvées
 
-        // Récupérer les dossiers médicaux pour ces personnes pour déterminer l'âge des habitants
-        List<MedicalRecord> allMedicalRecords = medicalRecordService.getAllMedicalRecords();
-
         List<ChildInfo> children = new ArrayList<>();
         List<HouseholdMember> householdMembers = new ArrayList<>();
 
         for (Person person : personsAtAddress) {
             log.debug("Recherche du dossier médical pour : {} {}", person.getFirstName(), person.getLastName()); // Recherche dossier médical
-            MedicalRecord medicalRecord = allMedicalRecords.stream()
-                    .filter(record -> record.getFirstName().equals(person.getFirstName())
-                            && record.getLastName().equals(person.getLastName()))
-                    .findFirst()
-                    .orElse(null);
+            MedicalRecord medicalRecord = medicalRecordService.getMedicalRecord(person.getFirstName(), person.getLastName());
             log.debug("Personne trouvée : {} {}, Age calculé : {}",
                     person.getFirstName(), person.getLastName(),
                     (medicalRecord != null) ? calculateAge(medicalRecord.getBirthdate()) : "Pas de dossier médical");
@@ -62,7 +52,7 @@ public class ChildAlertService {
 
                 if (medicalRecord != null) {
                 int age = calculateAge(medicalRecord.getBirthdate());
-                if (age <= 18) {
+                if (age <= Household.CHILD_MAX_AGE) {
                     // Ajouter l'enfant à la liste des enfants
                     children.add(new ChildInfo(person.getFirstName(), person.getLastName(), age));
                 } else {
@@ -111,9 +101,7 @@ public class ChildAlertService {
                 log.debug("Date de naissance nulle, renvoi de l'âge 0"); // Date nulle
                 return 0;
             }
-        LocalDate birthLocalDate = birthDate.toInstant().atZone(ZoneId.of("UTC")).toLocalDate();
-        int age = LocalDate.now().getYear() - birthLocalDate.getYear() -
-                (LocalDate.now().getDayOfYear() < birthLocalDate.getDayOfYear() ? 1 : 0);
+        int age = ageService.age(birthDate); // Date du jour en cache, sans allocation
 
         log.debug("Calcul âge - Date de naissance : {}, Age calculé : {}", birthDate, age);
         return age;
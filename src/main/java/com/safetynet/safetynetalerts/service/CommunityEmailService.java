@@ -1,13 +1,11 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.CommunityEmailDTO;
-import com.safetynet.safetynetalerts.model.Person;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,17 +23,8 @@ public class CommunityEmailService {
     public CommunityEmailDTO getEmailsByCity(String city) {
         log.debug("Début de l'appel de getEmailsByCity pour la ville : {}", city);
 
-        // Récupérer toutes les personnes
-        List<Person> allPersons = personService.getAllPersons();
-        log.debug("Nombre total de personnes récupérées : {}", allPersons.size());
-
-        // Filtrer les personnes vivant dans la ville spécifiée et récupérer leurs emails
-        List<String> emails = allPersons.stream()
-                .filter(person -> city.equalsIgnoreCase(person.getCity()))
-                .map(Person::getEmail)
-                .filter(email -> email != null && !email.isEmpty()) // Exclure les emails nuls ou vides
-                .distinct() // Éviter les doublons
-                .collect(Collectors.toList());
+        // Emails distincts et non vides des habitants de la ville, maintenus par l'index des villes
+        List<String> emails = personService.getEmailsByCity(city);
         log.debug("Adresses email récupérées pour la ville {} : {}", city, emails);
 
         log.debug("Fin de l'exécution de getEmailsByCity pour la ville : {} avec {} emails trouvés.", city, emails.size());
@@ -0,0 +1,12 @@
+package com.safetynet.safetynetalerts.service;
+
+import java.time.LocalDate;
+
+/**
+ * Événement publié par {@link AgeService} lorsque la date du jour change : les âges et les catégories
+ * enfant/adulte calculés pour la veille ne sont plus valables.
+ *
+ * @param today la nouvelle date du jour.
+ */
+public record DayChangedEvent(LocalDate today) {
+}
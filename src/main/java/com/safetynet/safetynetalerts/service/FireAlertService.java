@@ -2,16 +2,12 @@ package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.FireAlertDTO;
 import com.safetynet.safetynetalerts.dto.FireAlertDTO.ResidentInfo;
-import com.safetynet.safetynetalerts.model.FireStation;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +19,7 @@ public class FireAlertService {
     private final PersonService personService;
     private final MedicalRecordService medicalRecordService;
     private final FireStationService fireStationService;
+    private final AgeService ageService;
 
     /**
      * Récupère les détails des habitants et le numéro de caserne pour une adresse donnée.
@@ -33,21 +30,12 @@ public class FireAlertService {
     public FireAlertDTO getFireAlertByAddress(String address) {
         log.debug("Début de la méthode getFireAlertByAddress pour l'adresse : {}", address);
 
-        // Récupérer toutes les personnes habitant à cette adresse
-        List<Person> personsAtAddress = personService.getAllPersons().stream()
-                .filter(person -> address.equals(person.getAddress()))
-                .toList();
+        // Récupérer les personnes habitant à cette adresse via l'index des adresses
+        List<Person> personsAtAddress = personService.getPersonsByAddress(address);
         log.debug("Nombre de personnes trouvées à l'adresse {} : {}", address, personsAtAddress.size());
 
-        // Récupérer tous les dossiers médicaux pour les personnes de cette adresse
-        List<MedicalRecord> medicalRecords = medicalRecordService.getAllMedicalRecords();
-
         // Trouver le numéro de la caserne couvrant cette adresse
-        String fireStationNumber = fireStationService.getAllFireStations().stream()
-                .filter(fireStation -> address.equals(fireStation.getAddress()))
-                .map(FireStation::getStation)
-                .findFirst()
-                .orElse(null); // Adresse non couverte par une caserne
+        String fireStationNumber = fireStationService.getStationByAddress(address); // null si l'adresse n'est pas couverte
         if (fireStationNumber != null) {
             log.debug("La caserne couvrant l'adresse {} a été trouvée avec le numéro : {}", address, fireStationNumber);
         } else {
@@ -57,14 +45,10 @@ public class FireAlertService {
         // Construire la liste des habitants avec leurs informations détaillées
         List<ResidentInfo> residents = personsAtAddress.stream()
                 .map(person -> {
-                    MedicalRecord medicalRecord = medicalRecords.stream()
-                            .filter(record -> record.getFirstName().equals(person.getFirstName())
-                                    && record.getLastName().equals(person.getLastName()))
-                            .findFirst()
-                            .orElse(null);
+                    MedicalRecord medicalRecord = medicalRecordService.getMedicalRecord(person.getFirstName(), person.getLastName());
 
         if (medicalRecord != null) {
-                        int age = calculateAge(medicalRecord.getBirthdate());
+                        int age = ageService.age(medicalRecord.getBirthdate());
                         return new ResidentInfo(
                                 person.getFirstName(),
                                 person.getLastName(),
@@ -90,19 +74,4 @@ public class FireAlertService {
         log.debug("Fin de la méthode getFireAlertByAddress pour l'adresse {} : DTO construit avec succès",address);
         return fireAlertDTO;
 }
-
-    /**
-     * Méthode utilitaire pour calculer l'âge à partir d'une date de naissance.
-     *
-     * @param birthDate La date de naissance.
-     * @return L'âge en années.
-     */
-    private int calculateAge(Date birthDate) {
-        if (birthDate == null) {
-            return 0;
-        }
-        LocalDate birthLocalDate = birthDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-        return LocalDate.now().getYear() - birthLocalDate.getYear() -
-                (LocalDate.now().getDayOfYear() < birthLocalDate.getDayOfYear() ? 1 : 0);
-    }
 }
\ No newline at end of file
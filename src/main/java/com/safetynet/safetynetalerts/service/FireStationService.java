@@ -64,4 +64,28 @@ public class FireStationService {
         log.debug("Fin de la récupération. Nombre de casernes retrouvées : {}", fireStations.size());
         return fireStations;
     }
-}
\ No newline at end of file
+
+    /**
+     * Récupérer les adresses couvertes par une caserne.
+     *
+     * @param stationNumber Le numéro de la caserne.
+     * @return La liste des adresses couvertes, sans doublon.
+     */
+    public List<String> getAddressesByStation(String stationNumber) {
+        List<String> addresses = fireStationRepository.getAddressesByStation(stationNumber);
+        log.debug("Adresses couvertes par la caserne {} : {}", stationNumber, addresses);
+        return addresses;
+    }
+
+    /**
+     * Récupérer le numéro de la caserne couvrant une adresse.
+     *
+     * @param address L'adresse recherchée.
+     * @return Le numéro de la caserne, ou null si l'adresse n'est pas couverte.
+     */
+    public String getStationByAddress(String address) {
+        String station = fireStationRepository.getStationByAddress(address);
+        log.debug("Caserne couvrant l'adresse {} : {}", address, station);
+        return station;
+    }
+}
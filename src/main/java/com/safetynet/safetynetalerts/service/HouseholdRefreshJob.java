@@ -0,0 +1,34 @@
+package com.safetynet.safetynetalerts.service;
+
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Recalcule les agrégats par foyer ({@link Dataset#withHouseholdsAsOf(LocalDate)}) à chaque {@link DayChangedEvent},
+ * les personnes pouvant passer de la catégorie enfant à adulte au changement de date. Au démarrage, les foyers
+ * sont déjà calculés pour la date du jour de l'{@link AgeService} par {@link JsonFileWriter}.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class HouseholdRefreshJob {
+
+    private final JsonFileWriter jsonFileWriter;
+
+    /**
+     * Recalcule les foyers pour la nouvelle date.
+     *
+     * @param event le changement de date.
+     */
+    @EventListener
+    public void onDayChanged(DayChangedEvent event) {
+        jsonFileWriter.refreshHouseholds(event.today());
+        log.info("HouseholdRefreshJob - foyers recalculés pour le {}", event.today());
+    }
+}
@@ -67,6 +67,21 @@ public class MedicalRecordService {
         return isDeleted;
     }
 
+    /**
+     * Récupérer le dossier médical d'une personne, sans tenir compte de la casse du prénom et du nom.
+     *
+     * @param firstName Prénom du patient.
+     * @param lastName  Nom du patient.
+     * @return Le dossier médical, ou null s'il n'existe pas.
+     */
+    public MedicalRecord getMedicalRecord(String firstName, String lastName) {
+        MedicalRecord medicalRecord = medicalRecordRepository.findMedicalRecord(firstName, lastName);
+        if (medicalRecord == null) {
+            log.debug("Aucun dossier médical trouvé pour : {} {}", firstName, lastName);
+        }
+        return medicalRecord;
+    }
+
     /**
      * Récupérer tous les dossiers médicaux.
      *
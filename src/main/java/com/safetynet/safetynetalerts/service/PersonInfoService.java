@@ -7,8 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +18,7 @@ public class PersonInfoService {
 
     private final PersonService personService;
     private final MedicalRecordService medicalRecordService;
+    private final AgeService ageService;
 
     /**
      * Récupère les informations des personnes correspondant à un nom de famille donné.
@@ -30,24 +29,40 @@ public class PersonInfoService {
     public List<PersonInfoDTO> getPersonInfoByLastName(String lastName) {
         log.debug("Appel de la méthode getPersonInfoByLastName avec le nom de famille : {}", lastName);
 
-        // Récupérer toutes les personnes avec le nom spécifié
-        List<Person> personsWithLastName = personService.getAllPersons().stream()
-                .filter(person -> person.getLastName().equalsIgnoreCase(lastName))
-                .toList();
+        // Récupérer les personnes portant ce nom via l'index des noms (casse et accents ignorés)
+        List<Person> personsWithLastName = personService.getPersonsByLastName(lastName);
         log.debug("Nombre de personnes trouvées avec le nom de famille {} : {}", lastName, personsWithLastName.size());
 
-        // Récupérer tous les dossiers médicaux
-        List<MedicalRecord> medicalRecords = medicalRecordService.getAllMedicalRecords();
+        List<PersonInfoDTO> personInfoDTOs = toPersonInfos(personsWithLastName);
+        log.debug("Méthode getPersonInfoByLastName terminée, {} PersonInfoDTOs retournés", personInfoDTOs.size());
+        return personInfoDTOs;
+    }
+
+    /**
+     * Récupère les informations des personnes dont le nom de famille commence par un préfixe donné.
+     *
+     * @param prefix Le début du nom de famille.
+     * @return Une liste de DTO PersonInfoDTO, triée par nom de famille.
+     */
+    public List<PersonInfoDTO> getPersonInfoByLastNamePrefix(String prefix) {
+        log.debug("Appel de la méthode getPersonInfoByLastNamePrefix avec le préfixe : {}", prefix);
+        List<PersonInfoDTO> personInfoDTOs = toPersonInfos(personService.getPersonsByLastNamePrefix(prefix));
+        log.debug("Méthode getPersonInfoByLastNamePrefix terminée, {} PersonInfoDTOs retournés", personInfoDTOs.size());
+        return personInfoDTOs;
+    }
 
+    /**
+     * Transforme les personnes et leur dossier médical en PersonInfoDTO.
+     *
+     * @param persons Les personnes à transformer.
+     * @return La liste des DTO, dans l'ordre des personnes.
+     */
+    private List<PersonInfoDTO> toPersonInfos(List<Person> persons) {
         // Transformer Person + MedicalRecord en PersonInfoDTO
-        List<PersonInfoDTO> personInfoDTOs = personsWithLastName.stream()
+        return persons.stream()
                 .map(person -> {
                     // Trouver le dossier médical correspondant
-                    MedicalRecord medicalRecord = medicalRecords.stream()
-                            .filter(record -> record.getFirstName().equals(person.getFirstName())
-                                    && record.getLastName().equals(person.getLastName()))
-                            .findFirst()
-                            .orElse(null);
+                    MedicalRecord medicalRecord = medicalRecordService.getMedicalRecord(person.getFirstName(), person.getLastName());
 
                     if (medicalRecord != null) {
                         log.debug("Dossier médical trouvé pour {} {} : {}", person.getFirstName(), person.getLastName(), medicalRecord);
@@ -71,9 +86,6 @@ public class PersonInfoService {
                     return personInfoDTO;
                 })
                 .collect(Collectors.toList());
-
-        log.debug("Méthode getPersonInfoByLastName terminée, {} PersonInfoDTOs retournés", personInfoDTOs.size());
-        return personInfoDTOs;
     }
 
     /**
@@ -83,13 +95,6 @@ public class PersonInfoService {
      * @return L'âge (en années).
      */
     int calculateAge(Date birthDate) {
-        if (birthDate == null) {
-            return 0;
-        }
-        LocalDate birthLocalDate = birthDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-        LocalDate now = LocalDate.now();
-
-        return now.getYear() - birthLocalDate.getYear() -
-                (now.getDayOfYear() < birthLocalDate.getDayOfYear() ? 1 : 0);
+        return ageService.age(birthDate); // Date du jour en cache, 0 pour une date nulle
     }
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.safetynet.safetynetalerts.service;
 
+import com.safetynet.safetynetalerts.index.AgeStatistics;
+import com.safetynet.safetynetalerts.index.Household;
+import com.safetynet.safetynetalerts.index.Keys;
 import com.safetynet.safetynetalerts.model.Person;
 import com.safetynet.safetynetalerts.repository.PersonRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -14,6 +21,7 @@ import java.util.List;
 public class PersonService {
 
     private final PersonRepository personRepository;
+    private final AgeService ageService;
 
     /**
      * Ajouter une nouvelle personne.
@@ -79,4 +87,112 @@ public class PersonService {
          log.debug("Nombre total de personnes trouvées : {}", allPersons.size());
          return allPersons;
      }
-}
\ No newline at end of file
+
+    /**
+     * Récupérer les habitants d'une adresse.
+     *
+     * @param address L'adresse recherchée.
+     * @return La liste des personnes habitant à cette adresse.
+     */
+    public List<Person> getPersonsByAddress(String address) {
+        List<Person> persons = personRepository.getPersonsByAddress(address);
+        log.debug("Nombre de personnes trouvées à l'adresse {} : {}", address, persons.size());
+        return persons;
+    }
+
+    /**
+     * Récupérer les habitants d'un ensemble d'adresses.
+     *
+     * @param addresses Les adresses recherchées.
+     * @return La liste des personnes habitant à ces adresses, regroupées par adresse (une adresse répétée n'est lue qu'une fois).
+     */
+    public List<Person> getPersonsByAddresses(Collection<String> addresses) {
+        List<Person> persons = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String address : addresses) {
+            if (seen.add(Keys.normalize(address))) {
+                persons.addAll(personRepository.getPersonsByAddress(address));
+            }
+        }
+        log.debug("Nombre de personnes trouvées aux adresses {} : {}", addresses, persons.size());
+        return persons;
+    }
+
+    /**
+     * Récupérer les agrégats des foyers d'un ensemble d'adresses.
+     *
+     * @param addresses Les adresses recherchées.
+     * @return Les foyers dans l'ordre des adresses (une adresse répétée n'est lue qu'une fois).
+     */
+    public List<Household> getHouseholds(Collection<String> addresses) {
+        List<Household> households = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String address : addresses) {
+            if (seen.add(Keys.normalize(address))) {
+                households.add(personRepository.getHousehold(address, ageService.today()));
+            }
+        }
+        log.debug("Nombre de foyers trouvés aux adresses {} : {}", addresses, households.size());
+        return households;
+    }
+
+    /**
+     * Récupérer les personnes ayant plus d'un âge donné.
+     *
+     * @param age L'âge à dépasser, en années.
+     * @return Les personnes, de la plus âgée à la plus jeune.
+     */
+    public List<Person> getPersonsOlderThan(int age) {
+        List<Person> persons = personRepository.getPersonsOlderThan(age, ageService.today());
+        log.debug("Nombre de personnes de plus de {} ans : {}", age, persons.size());
+        return persons;
+    }
+
+    /**
+     * Récupérer les statistiques d'âge de la population ou des habitants d'une ville.
+     *
+     * @param city La ville recherchée, ou null pour toute la population.
+     * @return Les nombres d'adultes, d'enfants et de personnes sans dossier médical.
+     */
+    public AgeStatistics getAgeStatistics(String city) {
+        AgeStatistics statistics = personRepository.getAgeStatistics(city, ageService.today());
+        log.debug("Statistiques d'âge pour la ville {} : {}", city, statistics);
+        return statistics;
+    }
+
+    /**
+     * Récupérer les emails distincts des habitants d'une ville.
+     *
+     * @param city La ville recherchée.
+     * @return La liste des emails, sans doublon.
+     */
+    public List<String> getEmailsByCity(String city) {
+        List<String> emails = personRepository.getEmailsByCity(city);
+        log.debug("Nombre d'emails trouvés pour la ville {} : {}", city, emails.size());
+        return emails;
+    }
+
+    /**
+     * Récupérer les personnes portant un nom de famille.
+     *
+     * @param lastName Le nom de famille recherché.
+     * @return La liste des personnes portant ce nom.
+     */
+    public List<Person> getPersonsByLastName(String lastName) {
+        List<Person> persons = personRepository.getPersonsByLastName(lastName);
+        log.debug("Nombre de personnes trouvées avec le nom de famille {} : {}", lastName, persons.size());
+        return persons;
+    }
+
+    /**
+     * Récupérer les personnes dont le nom de famille commence par un préfixe.
+     *
+     * @param prefix Le début du nom de famille.
+     * @return La liste des personnes, triées par nom de famille.
+     */
+    public List<Person> getPersonsByLastNamePrefix(String prefix) {
+        List<Person> persons = personRepository.getPersonsByLastNamePrefix(prefix);
+        log.debug("Nombre de personnes trouvées avec le préfixe de nom {} : {}", prefix, persons.size());
+        return persons;
+    }
+}
@@ -1,14 +1,14 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.PhoneAlertDTO;
-import com.safetynet.safetynetalerts.model.FireStation;
-import com.safetynet.safetynetalerts.model.Person;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -27,21 +27,14 @@ public class PhoneAlertService {
     public PhoneAlertDTO getPhonesByFireStation(String stationNumber) {
         log.debug("Appel de getPhonesByFireStation avec stationNumber: {}", stationNumber);
 
-        // Récupérer les adresses associées à la caserne
-        List<FireStation> fireStations = fireStationService.getAllFireStations();
-        List<String> addresses = fireStations.stream()
-                .filter(fireStation -> fireStation.getStation().equals(stationNumber))
-                .map(FireStation::getAddress)
-                .collect(Collectors.toList());
+        // Récupérer les adresses associées à la caserne via l'index des casernes
+        List<String> addresses = fireStationService.getAddressesByStation(stationNumber);
         log.debug("Adresses récupérées pour la caserne {}: {}", stationNumber, addresses);
 
-        // Récupérer les personnes habitant à ces adresses et leurs numéros de téléphone
-        List<Person> persons = personService.getAllPersons();
-        List<String> phoneNumbers = persons.stream()
-                .filter(person -> addresses.contains(person.getAddress()))
-                .map(Person::getPhone)
-                .distinct() // Éviter les doublons
-                .collect(Collectors.toList());
+        // Récupérer les téléphones précalculés des foyers de ces adresses
+        Set<String> phones = new LinkedHashSet<>(); // Éviter les doublons entre foyers
+        personService.getHouseholds(addresses).forEach(household -> phones.addAll(household.getPhones()));
+        List<String> phoneNumbers = new ArrayList<>(phones);
         log.debug("Numéros de téléphone récupérés pour la caserne {}: {}", stationNumber, phoneNumbers);
 
         return new PhoneAlertDTO(phoneNumbers);
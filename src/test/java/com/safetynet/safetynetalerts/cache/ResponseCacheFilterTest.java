@@ -0,0 +1,174 @@
+package com.safetynet.safetynetalerts.cache;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link ResponseCacheFilter}.
+ * Vérifie le service depuis le cache, les ETags et les requêtes conditionnelles, sans contexte Spring.
+ */
+class ResponseCacheFilterTest {
+
+    private ResponseCache cache;
+    private RequestCoalescer coalescer;
+    private ResponseCacheFilter filter;
+    private AtomicInteger computations;
+    private volatile boolean waitForFollower; // Le calcul attend qu'une requête identique le rejoigne
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(100, 1_000_000);
+        coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        filter = new ResponseCacheFilter(cache, coalescer, 1024);
+        computations = new AtomicInteger();
+    }
+
+    /**
+     * Vérifie qu'une réponse est calculée une seule fois, puis servie depuis le cache avec le même ETag,
+     * et qu'une requête conditionnelle correspondante reçoit 304 sans calcul.
+     */
+    @Test
+    void doFilter_ShouldServeCachedResponseAndNotModified() throws ServletException, IOException {
+        // When
+        MockHttpServletResponse first = get("/phoneAlert", null);
+        MockHttpServletResponse second = get("/phoneAlert", null);
+        MockHttpServletResponse conditional = get("/phoneAlert", first.getHeader("ETag"));
+
+        // Then
+        assertEquals(1, computations.get());
+        assertEquals("{\"phoneNumbers\":[]}", second.getContentAsString());
+        assertNotNull(first.getHeader("ETag"));
+        assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, conditional.getStatus());
+        assertEquals(0, conditional.getContentLength());
+        assertEquals(1, cache.notModified());
+    }
+
+    /**
+     * Vérifie qu'après une écriture touchant la caserne, l'ancien ETag ne correspond plus
+     * et la réponse est recalculée.
+     */
+    @Test
+    void doFilter_ShouldRecomputeAfterInvalidation() throws ServletException, IOException {
+        // Given
+        String etag = get("/phoneAlert", null).getHeader("ETag");
+        cache.invalidate(Set.of(CacheTags.station("1")));
+
+        // When
+        MockHttpServletResponse response = get("/phoneAlert", etag);
+
+        // Then
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNotEquals(etag, response.getHeader("ETag"));
+        assertEquals(2, computations.get());
+    }
+
+    /**
+     * Vérifie que deux requêtes identiques simultanées partagent un seul calcul.
+     */
+    @Test
+    void doFilter_ShouldCoalesceConcurrentIdenticalRequests() throws Exception {
+        // Given
+        waitForFollower = true;
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(this::getUnchecked);
+        while (computations.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        MockHttpServletResponse follower = get("/phoneAlert", null);
+
+        // Then
+        assertEquals(1, computations.get());
+        assertEquals(1, coalescer.coalesced());
+        assertEquals("{\"phoneNumbers\":[]}", follower.getContentAsString());
+        assertEquals(leader.get(5, TimeUnit.SECONDS).getHeader("ETag"), follower.getHeader("ETag"));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    /**
+     * Vérifie qu'une requête dont le calcul partagé n'aboutit jamais calcule sa propre réponse
+     * une fois le délai d'attente écoulé.
+     */
+    @Test
+    void doFilter_ShouldComputeLocallyWhenLeaderNeverCompletes() throws ServletException, IOException {
+        // Given
+        coalescer = new RequestCoalescer(Duration.ofMillis(100));
+        filter = new ResponseCacheFilter(cache, coalescer, 1024);
+        String key = CacheableEndpoint.resolve("/phoneAlert", name -> "1").value();
+        assertTrue(coalescer.join(key, cache.generation()).lead()); // Calcul bloqué, jamais terminé
+
+        // When
+        MockHttpServletResponse response = get("/phoneAlert", null);
+
+        // Then
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("{\"phoneNumbers\":[]}", response.getContentAsString());
+        assertEquals(1, computations.get());
+        assertEquals(1, coalescer.timeouts());
+    }
+
+    /**
+     * Vérifie la lecture de l'en-tête {@code Accept-Encoding}.
+     */
+    @Test
+    void acceptsGzip_ShouldReadAcceptEncoding() {
+        assertTrue(ResponseCacheFilter.acceptsGzip(request("deflate, gzip;q=0.8")));
+        assertTrue(ResponseCacheFilter.acceptsGzip(request("*")));
+        assertFalse(ResponseCacheFilter.acceptsGzip(request("gzip;q=0, br")));
+        assertFalse(ResponseCacheFilter.acceptsGzip(new MockHttpServletRequest()));
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setParameter("firestation", "1");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                computations.incrementAndGet();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (waitForFollower && coalescer.coalesced() == 0 && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                resp.setContentType("application/json");
+                resp.getOutputStream().write("{\"phoneNumbers\":[]}".getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    private MockHttpServletResponse getUnchecked() {
+        try {
+            return get("/phoneAlert", null);
+        } catch (ServletException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/fire");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        return request;
+    }
+}
@@ -0,0 +1,238 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.json.WalEntry;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link ResponseCache} et le calcul des étiquettes touchées par une écriture ({@link CacheTags}).
+ */
+class ResponseCacheTest {
+
+    /**
+     * Vérifie l'éviction des réponses les moins récemment utilisées au-delà du nombre d'entrées
+     * puis de la taille totale, et les compteurs associés.
+     */
+    @Test
+    void put_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        ResponseCache cache = new ResponseCache(2, 10);
+        cache.put("a", Set.of(), response(3), 0);
+        cache.put("b", Set.of(), response(3), 0);
+        cache.get("a");
+
+        // When
+        cache.put("c", Set.of(), response(3), 0);
+        cache.put("d", Set.of(), response(8), 0);
+
+        // Then
+        assertNull(cache.get("b")); // Évincée au-delà de 2 entrées
+        assertNull(cache.get("a")); // Évincée au-delà de 10 octets
+        assertNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.weight());
+        assertEquals(3, cache.evictions());
+        assertEquals(2, cache.hits());
+        assertEquals(3, cache.misses());
+        assertFalse(cache.put("e", Set.of(), response(11), 0)); // Trop grande à elle seule
+    }
+
+    /**
+     * Vérifie que seules les réponses portant une étiquette touchée sont invalidées, y compris les recherches
+     * par préfixe correspondant au nom de famille modifié.
+     */
+    @Test
+    void invalidate_ShouldRemoveTaggedEntriesOnly() {
+        // Given
+        ResponseCache cache = new ResponseCache(100, 1000);
+        cache.put("fire", Set.of(CacheTags.address("1509 Culver St")), response(1), 0);
+        cache.put("station", Set.of(CacheTags.station("3")), response(1), 0);
+        cache.put("prefix", Set.of(CacheTags.lastNamePrefix("Bo")), response(1), 0);
+        cache.put("otherPrefix", Set.of(CacheTags.lastNamePrefix("Za")), response(1), 0);
+
+        // When
+        cache.invalidate(Set.of(CacheTags.address(" 1509 CULVER ST"), CacheTags.lastName("Boyd")));
+
+        // Then
+        assertNull(cache.get("fire"));
+        assertNull(cache.get("prefix"));
+        assertNotNull(cache.get("station"));
+        assertNotNull(cache.get("otherPrefix"));
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Vérifie qu'une réponse calculée avant une invalidation n'est pas conservée.
+     */
+    @Test
+    void put_ShouldRejectResponseComputedBeforeInvalidation() {
+        // Given
+        ResponseCache cache = new ResponseCache(100, 1000);
+        long generation = cache.generation();
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertFalse(cache.put("fire", Set.of(), response(1), generation));
+        assertTrue(cache.put("fire", Set.of(), response(1), cache.generation()));
+    }
+
+    /**
+     * Vérifie que l'ETag ne change qu'à l'invalidation d'une des étiquettes de la réponse,
+     * y compris par un nom de famille correspondant au préfixe recherché, ou au vidage du cache.
+     */
+    @Test
+    void etag_ShouldChangeOnlyWithTaggedData() {
+        // Given
+        ResponseCache cache = new ResponseCache(100, 1000);
+        Set<String> stations = Set.of(CacheTags.station("1"), CacheTags.station("2"));
+        Set<String> prefix = Set.of(CacheTags.lastNamePrefix("Bo"));
+        String stationsEtag = cache.etag("stations", stations);
+        String prefixEtag = cache.etag("prefix", prefix);
+
+        // When
+        cache.invalidate(Set.of(CacheTags.station("3"), CacheTags.lastName("Boyd")));
+        String afterOtherStation = cache.etag("stations", stations);
+        String afterLastName = cache.etag("prefix", prefix);
+        cache.invalidate(Set.of(CacheTags.station("2")));
+        String afterStation = cache.etag("stations", stations);
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(stationsEtag, afterOtherStation);
+        assertNotEquals(stationsEtag, afterStation);
+        assertNotEquals(prefixEtag, afterLastName); // "Bo" est un préfixe de "Boyd"
+        assertNotEquals(afterStation, cache.etag("stations", stations));
+        assertNotEquals(cache.etag("stations", stations), cache.etag("otherStations", stations));
+    }
+
+    /**
+     * Vérifie les étiquettes touchées par un déménagement et par un changement de caserne :
+     * anciennes et nouvelles adresses et casernes.
+     */
+    @Test
+    void changedBy_ShouldTagPreviousAndCurrentData() {
+        // Given
+        Dataset previous = Dataset.of(0,
+                List.of(new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com")),
+                List.of(new FireStation("1509 Culver St", "3"), new FireStation("29 15th St", "2")),
+                List.of(), LocalDate.now());
+        WalEntry move = WalEntry.updatePerson("John", "Boyd",
+                new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"));
+        WalEntry station = WalEntry.updateFireStation("29 15th St", "4");
+        Dataset moved = previous.apply(move);
+
+        // When
+        Set<String> personTags = CacheTags.changedBy(previous, moved, List.of(move));
+        Set<String> stationTags = CacheTags.changedBy(moved, moved.apply(station), List.of(station));
+
+        // Then
+        assertEquals(Set.of(CacheTags.address("1509 Culver St"), CacheTags.address("29 15th St"),
+                CacheTags.station("3"), CacheTags.station("2"), CacheTags.city("Culver"), CacheTags.lastName("Boyd"),
+                CacheTags.entity(WalEntry.EntityType.PERSON)), personTags);
+        assertEquals(Set.of(CacheTags.address("29 15th St"), CacheTags.station("2"), CacheTags.station("4"),
+                CacheTags.entity(WalEntry.EntityType.FIRESTATION)), stationTags);
+    }
+
+    /**
+     * Vérifie qu'un changement d'affectation étiquette toutes les casernes de l'adresse normalisée,
+     * y compris une affectation en double écrite différemment.
+     */
+    @Test
+    void changedBy_ShouldTagEveryStationOfTheAddress() {
+        // Given
+        Dataset previous = Dataset.of(0, List.of(),
+                List.of(new FireStation("29 15th St", "2"), new FireStation(" 29 15TH ST", "5"), new FireStation("1509 Culver St", "3")),
+                List.of(), LocalDate.now());
+        WalEntry delete = WalEntry.deleteFireStation("29 15th St");
+
+        // When
+        Set<String> tags = CacheTags.changedBy(previous, previous.apply(delete), List.of(delete));
+
+        // Then
+        assertEquals(Set.of(CacheTags.address("29 15th St"), CacheTags.station("2"), CacheTags.station("5"),
+                CacheTags.entity(WalEntry.EntityType.FIRESTATION)), tags);
+    }
+
+    /**
+     * Vérifie qu'une modification d'une personne dont l'adresse est desservie par deux casernes
+     * invalide les réponses mises en cache des deux casernes.
+     */
+    @Test
+    void changedBy_ShouldEvictEveryStationOfAPersonAddress() {
+        // Given
+        Person tony = new Person("Tony", "Cooper", "112 Steppes Pl", "Culver", "97451", "841-874-6874", "tcoop@ymail.com");
+        Dataset previous = Dataset.of(0, List.of(tony),
+                List.of(new FireStation("112 Steppes Pl", "3"), new FireStation("112 Steppes Pl", "4")),
+                List.of(), LocalDate.now());
+        WalEntry update = WalEntry.updatePerson("Tony", "Cooper",
+                new Person("Tony", "Cooper", "112 Steppes Pl", "Culver", "97451", "841-874-0000", "tcoop@ymail.com"));
+        ResponseCache cache = new ResponseCache(100, 1000);
+        cache.put("station3", Set.of(CacheTags.station("3")), response(1), 0);
+        cache.put("station4", Set.of(CacheTags.station("4")), response(1), 0);
+
+        // When
+        cache.invalidate(CacheTags.changedBy(previous, previous.apply(update), List.of(update)));
+
+        // Then
+        assertNull(cache.get("station3"));
+        assertNull(cache.get("station4"));
+    }
+
+    /**
+     * Vérifie les clés des alertes : paramètres normalisés, ville conservée telle quelle, paramètre manquant.
+     */
+    @Test
+    void resolve_ShouldNormalizeParameters() {
+        // When
+        CacheableEndpoint.Key fire = CacheableEndpoint.resolve("/fire", name -> " 1509 CULVER st");
+        CacheableEndpoint.Key prefix = CacheableEndpoint.resolve("/personInfo", name -> name.equals("prefix") ? "TRUE" : "Bo");
+        CacheableEndpoint.Key email = CacheableEndpoint.resolve("/communityEmail", name -> "Culver ");
+
+        // Then
+        assertEquals(new CacheableEndpoint.Key("FIRE?1509 culver st", Set.of(CacheTags.address("1509 Culver St"))), fire);
+        assertEquals(Set.of(CacheTags.lastNamePrefix("bo")), prefix.tags());
+        assertEquals("COMMUNITY_EMAIL?Culver ", email.value());
+        assertNull(CacheableEndpoint.resolve("/fire", name -> null));
+        assertEquals("FIRE_STATIONS?", CacheableEndpoint.resolve("/firestation", name -> null).value());
+        assertNull(CacheableEndpoint.resolve("/person/John/Boyd", name -> null));
+    }
+
+    /**
+     * Vérifie que seul un corps assez grand est compressé, et que sa version compressée restitue le corps.
+     */
+    @Test
+    void of_ShouldGzipLargeBodies() throws IOException {
+        // Given
+        byte[] body = "{\"phoneNumbers\":[\"841-874-6512\"]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        CachedResponse large = CachedResponse.of(body, "application/json", 1024);
+        CachedResponse small = CachedResponse.of(body, "application/json", body.length + 1);
+        CachedResponse disabled = CachedResponse.of(body, "application/json", -1);
+
+        // Then
+        assertArrayEquals(body, new GZIPInputStream(new ByteArrayInputStream(large.gzipped())).readAllBytes());
+        assertEquals(body.length + large.gzipped().length, large.weight());
+        assertNull(small.gzipped());
+        assertNull(disabled.gzipped());
+    }
+
+    private static CachedResponse response(int size) {
+        return new CachedResponse(new byte[size], null, "application/json");
+    }
+}
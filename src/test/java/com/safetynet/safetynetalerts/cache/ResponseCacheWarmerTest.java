@@ -0,0 +1,79 @@
+package com.safetynet.safetynetalerts.cache;
+
+import com.safetynet.safetynetalerts.json.Dataset;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.Person;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe de test pour {@link ResponseCacheWarmer}.
+ */
+class ResponseCacheWarmerTest {
+
+    /**
+     * Vérifie que chaque adresse (habitée ou couverte) et chaque caserne n'est préchauffée qu'une fois,
+     * sans tenir compte de la casse, avec des paramètres encodés.
+     */
+    @Test
+    void warmUpPaths_ShouldCoverEachAddressAndStationOnce() {
+        // Given
+        Dataset dataset = Dataset.of(0,
+                List.of(new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                        new Person("Jacob", "Boyd", "1509 CULVER ST", "Culver", "97451", "841-874-6513", "drk@email.com")),
+                List.of(new FireStation("1509 Culver St", "3"), new FireStation("29 15th St", "2"), new FireStation("834 Binoc Ave", "3")),
+                List.of(), LocalDate.now());
+
+        // When
+        List<String> paths = ResponseCacheWarmer.warmUpPaths(dataset);
+
+        // Then
+        assertEquals(List.of(
+                "/fire?address=1509+Culver+St", "/childAlert?address=1509+Culver+St",
+                "/fire?address=29+15th+St", "/childAlert?address=29+15th+St",
+                "/fire?address=834+Binoc+Ave", "/childAlert?address=834+Binoc+Ave",
+                "/phoneAlert?firestation=3", "/firestation?stationNumber=3",
+                "/phoneAlert?firestation=2", "/firestation?stationNumber=2"), paths);
+    }
+
+    /**
+     * Vérifie qu'une réponse 404 (caserne sans habitant) n'est pas un échec du préchauffage,
+     * contrairement à une réponse 5xx ou à une erreur de transport.
+     */
+    @Test
+    void warmUp_ShouldTreatNotFoundAsValidResponse() throws IOException {
+        // Given
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            int status = switch (exchange.getRequestURI().getPath()) {
+                case "/phoneAlert" -> 200;
+                case "/firestation" -> 404;
+                default -> 500;
+            };
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        String base = "http://localhost:" + server.getAddress().getPort();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            // When / Then
+            assertEquals(ResponseCacheWarmer.Outcome.CACHED, ResponseCacheWarmer.warmUp(client, URI.create(base + "/phoneAlert?firestation=1")));
+            assertEquals(ResponseCacheWarmer.Outcome.NOT_CACHED, ResponseCacheWarmer.warmUp(client, URI.create(base + "/firestation?stationNumber=9")));
+            assertEquals(ResponseCacheWarmer.Outcome.FAILED, ResponseCacheWarmer.warmUp(client, URI.create(base + "/fire?address=x")));
+            server.stop(0);
+            assertEquals(ResponseCacheWarmer.Outcome.FAILED, ResponseCacheWarmer.warmUp(client, URI.create(base + "/phoneAlert?firestation=1")));
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -152,4 +152,25 @@ class PersonInfoControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest()); // Vérifie que le statut est 400
     }
-}
\ No newline at end of file
+
+    /**
+     * Teste le cas où la requête GET demande une recherche par préfixe du nom de famille.
+     *
+     * @throws Exception si une erreur survient lors de l'exécution de la requête.
+     */
+    @Test
+    void testGetPersonInfo_Prefix() throws Exception {
+        // Simule le service pour retourner les personnes dont le nom commence par "Do".
+        when(personInfoService.getPersonInfoByLastNamePrefix("Do")).thenReturn(personInfoDTOList);
+
+        // Exécute une requête GET avec prefix=true et vérifie le résultat
+        mockMvc.perform(get("/personInfo")
+                .param("lastName", "Do")
+                .param("prefix", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Mockito.verify(personInfoService).getPersonInfoByLastNamePrefix("Do");
+        Mockito.verify(personInfoService, Mockito.never()).getPersonInfoByLastName(Mockito.anyString());
+    }
+}
@@ -0,0 +1,65 @@
+package com.safetynet.safetynetalerts.controller;
+
+import com.safetynet.safetynetalerts.model.Person;
+import com.safetynet.safetynetalerts.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Classe de tests pour {@link ReadOnlyModeConfig}.
+ * Vérifie qu'en lecture seule les endpoints de modification sont refusés et que la lecture reste possible.
+ */
+@WebMvcTest(value = PersonController.class, properties = "safetynet.persistence.read-only=true")
+class ReadOnlyModeConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PersonService personService;
+
+    /**
+     * Vérifie que l'ajout d'une personne est refusé avec un statut 405, sans appel au service.
+     *
+     * @throws Exception En cas d'erreur lors de la requête.
+     */
+    @Test
+    void post_ShouldBeRejectedInReadOnlyMode() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/person")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\", \"lastName\":\"Doe\"}"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().exists("Allow"));
+        mockMvc.perform(delete("/person/John/Doe"))
+                .andExpect(status().isMethodNotAllowed());
+        verify(personService, never()).addPerson(any(Person.class));
+        verify(personService, never()).deletePerson(any(), any());
+    }
+
+    /**
+     * Vérifie que la lecture des personnes reste disponible en lecture seule.
+     *
+     * @throws Exception En cas d'erreur lors de la requête.
+     */
+    @Test
+    void get_ShouldBeAllowedInReadOnlyMode() throws Exception {
+        // Given
+        when(personService.getAllPersons()).thenReturn(List.of(new Person()));
+
+        // When & Then
+        mockMvc.perform(get("/person"))
+                .andExpect(status().isOk());
+    }
+}
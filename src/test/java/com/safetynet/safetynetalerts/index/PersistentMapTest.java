@@ -0,0 +1,124 @@
+package com.safetynet.safetynetalerts.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link PersistentHashMap} et {@link PersistentSortedMap}.
+ * Vérifie leur comportement face aux tables de la bibliothèque standard, et qu'une modification
+ * laisse la version précédente intacte.
+ */
+class PersistentMapTest {
+
+    /**
+     * Vérifie qu'une suite aléatoire d'ajouts et de suppressions donne le même résultat qu'une {@link HashMap},
+     * y compris pour des clés de même hachage.
+     */
+    @Test
+    void hashMap_ShouldMatchHashMap() {
+        // Given
+        Random random = new Random(42);
+        PersistentMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+        Map<CollidingKey, Integer> expected = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            CollidingKey key = new CollidingKey(random.nextInt(5_000));
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                expected.remove(key);
+            } else {
+                map = map.with(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        // Then
+        assertSameContent(expected, map);
+    }
+
+    /**
+     * Vérifie qu'une suite aléatoire d'ajouts et de suppressions donne le même résultat qu'une {@link TreeMap},
+     * dans l'ordre des clés, et que le parcours par intervalle ne renvoie que les clés de l'intervalle.
+     */
+    @Test
+    void sortedMap_ShouldMatchTreeMap() {
+        // Given
+        Random random = new Random(42);
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                expected.remove(key);
+            } else {
+                map = map.with(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        // Then
+        assertSameContent(expected, map);
+        List<Integer> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+        List<Integer> range = new ArrayList<>();
+        map.forEachInRange(1_000, 1_100, (key, value) -> range.add(key));
+        assertEquals(new ArrayList<>(expected.subMap(1_000, 1_100).keySet()), range);
+    }
+
+    /**
+     * Vérifie qu'une modification renvoie une nouvelle table sans modifier la précédente,
+     * et la table elle-même lorsqu'elle ne change rien.
+     */
+    @Test
+    void with_ShouldLeavePreviousVersionUnchanged() {
+        // Given
+        PersistentMap<String, String> before = PersistentHashMap.<String, String>empty()
+                .with("1509 culver st", "3")
+                .with("29 15th st", "2");
+
+        // When
+        PersistentMap<String, String> after = before.with("1509 culver st", "4").without("29 15th st");
+
+        // Then
+        assertEquals("3", before.get("1509 culver st"));
+        assertEquals("2", before.get("29 15th st"));
+        assertEquals(2, before.size());
+        assertEquals("4", after.get("1509 culver st"));
+        assertNull(after.get("29 15th st"));
+        assertEquals(1, after.size());
+        assertSame(after, after.without("29 15th st"));
+        assertSame(after, after.with("1509 culver st", after.get("1509 culver st")));
+    }
+
+    private static <K, V> void assertSameContent(Map<K, V> expected, PersistentMap<K, V> map) {
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<K, V> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Clé dont le hachage ne prend que 64 valeurs, pour provoquer des collisions.
+     */
+    private record CollidingKey(int value) {
+
+        @Override
+        public int hashCode() {
+            return value % 64;
+        }
+    }
+}
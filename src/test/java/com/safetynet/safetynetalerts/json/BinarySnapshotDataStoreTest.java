@@ -0,0 +1,70 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de test pour {@link BinarySnapshotDataStore}.
+ * Vérifie que l'instantané binaire n'est utilisé que lorsqu'il est à jour par rapport au fichier principal.
+ */
+class BinarySnapshotDataStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que l'instantané binaire à jour est lu sans solliciter le fichier principal.
+     */
+    @Test
+    void load_ShouldReadUpToDateBinarySnapshot() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        DataStore delegate = mock(DataStore.class);
+        when(delegate.getLocation()).thenReturn(dataFile);
+        BinarySnapshotDataStore dataStore = new BinarySnapshotDataStore(delegate, false);
+        dataStore.save(new FichierJsonDTO(new ArrayList<>(), List.of(new FireStation("1509 Culver St", "3")), new ArrayList<>(), 2));
+
+        // When
+        FichierJsonDTO data = dataStore.load();
+
+        // Then
+        assertEquals("3", data.getFirestations().get(0).getStation());
+        verify(delegate, never()).load();
+    }
+
+    /**
+     * Vérifie qu'un fichier principal plus récent que l'instantané binaire (modifié à la main) est lu en priorité.
+     */
+    @Test
+    void load_ShouldPreferNewerMainFile() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        DataStore delegate = mock(DataStore.class);
+        when(delegate.getLocation()).thenReturn(dataFile);
+        FichierJsonDTO fromMainFile = new FichierJsonDTO(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 9);
+        when(delegate.load()).thenReturn(fromMainFile);
+        BinarySnapshotDataStore dataStore = new BinarySnapshotDataStore(delegate, false);
+        dataStore.save(new FichierJsonDTO(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 2));
+        Files.writeString(dataFile, "{}");
+        Files.setLastModifiedTime(dataFile, FileTime.from(Instant.now().plusSeconds(60)));
+
+        // When
+        FichierJsonDTO data = dataStore.load();
+
+        // Then
+        assertSame(fromMainFile, data);
+    }
+}
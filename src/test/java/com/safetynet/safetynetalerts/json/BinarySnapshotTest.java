@@ -0,0 +1,78 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link BinarySnapshot}.
+ * Vérifie l'aller-retour des données au format binaire et le rejet des fichiers invalides.
+ */
+class BinarySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que les données écrites au format binaire sont relues à l'identique.
+     */
+    @Test
+    void writeThenRead_ShouldRestoreData() throws IOException {
+        // Given
+        Path binaryFile = tempDir.resolve("data.json.bin");
+        FichierJsonDTO data = new FichierJsonDTO(
+                List.of(new Person("Éloïse", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", null),
+                        new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com")),
+                List.of(new FireStation("1509 Culver St", "3")),
+                List.of(new MedicalRecord("Jacob", "Boyd", new Date(447465600000L), List.of(), List.of("pharmacol:5000mg", "terazine:10mg"))),
+                12);
+        BinarySnapshot binarySnapshot = new BinarySnapshot();
+
+        // When
+        binarySnapshot.write(binaryFile, data);
+        FichierJsonDTO reloaded = binarySnapshot.read(binaryFile);
+
+        // Then
+        assertEquals(2, reloaded.getPersons().size());
+        assertEquals("Éloïse", reloaded.getPersons().get(0).getFirstName());
+        assertNull(reloaded.getPersons().get(0).getEmail());
+        assertEquals("drk@email.com", reloaded.getPersons().get(1).getEmail());
+        assertSame(reloaded.getPersons().get(0).getAddress(), reloaded.getPersons().get(1).getAddress());
+        assertEquals("3", reloaded.getFirestations().get(0).getStation());
+        MedicalRecord record = reloaded.getMedicalrecords().get(0);
+        assertEquals(new Date(447465600000L), record.getBirthdate());
+        assertEquals(List.of("pharmacol:5000mg", "terazine:10mg"), record.getMedications());
+        assertTrue(record.getAllergies().isEmpty());
+        assertEquals(12, reloaded.getWalSequence());
+        assertFalse(Files.exists(tempDir.resolve("data.json.bin.tmp")));
+    }
+
+    /**
+     * Vérifie qu'un fichier tronqué est rejeté par une IOException.
+     */
+    @Test
+    void read_ShouldRejectTruncatedFile() throws IOException {
+        // Given
+        Path binaryFile = tempDir.resolve("data.json.bin");
+        new BinarySnapshot().write(binaryFile, new FichierJsonDTO(
+                List.of(new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com")),
+                List.of(), List.of(), 1));
+        byte[] content = Files.readAllBytes(binaryFile);
+        Files.write(binaryFile, Arrays.copyOf(content, content.length - 6));
+
+        // When / Then
+        assertThrows(IOException.class, () -> new BinarySnapshot().read(binaryFile));
+    }
+}
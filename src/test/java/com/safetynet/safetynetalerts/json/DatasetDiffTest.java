@@ -0,0 +1,66 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link DatasetDiff}.
+ * Vérifie que seules les différences entre deux versions des données produisent des mutations.
+ */
+class DatasetDiffTest {
+
+    /**
+     * Vérifie qu'un ajout, une modification et une suppression produisent chacun une seule entrée,
+     * et que leur application donne bien les données cibles.
+     */
+    @Test
+    void between_ShouldProduceOnlyChangedElements() {
+        // Given
+        Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+        Dataset current = Dataset.of(3, List.of(john, jacob),
+                List.of(new FireStation("1509 Culver St", "3"), new FireStation("29 15th St", "2")),
+                List.of(new MedicalRecord("John", "Boyd", null, List.of(), List.of("aznol:350mg"))), LocalDate.now());
+        Person johnCopy = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        List<FireStation> targetStations = List.of(new FireStation("1509 Culver St", "3"), new FireStation("29 15th St", "4"));
+        List<MedicalRecord> targetRecords = List.of(new MedicalRecord("John", "Boyd", null, List.of(), List.of("aznol:350mg")));
+
+        // When
+        List<WalEntry> entries = DatasetDiff.between(current, List.of(johnCopy, tenley), targetStations, targetRecords);
+        Dataset next = current.applyAll(entries, 4);
+
+        // Then
+        assertEquals(3, entries.size());
+        assertEquals(WalEntry.Operation.DELETE, entries.get(0).getOperation());
+        assertEquals("Jacob", entries.get(0).getFirstName());
+        assertEquals(WalEntry.Operation.UPDATE, entries.get(1).getOperation());
+        assertEquals(WalEntry.Operation.ADD, entries.get(2).getOperation());
+        assertSame(john, next.getPersons().get(0));
+        assertEquals("Tenley", next.getPersons().get(1).getFirstName());
+        assertEquals("4", next.getFirestations().get(1).getStation());
+        assertSame(current.getMedicalrecords(), next.getMedicalrecords());
+    }
+
+    /**
+     * Vérifie que des données identiques ne produisent aucune mutation.
+     */
+    @Test
+    void between_ShouldBeEmptyForIdenticalData() {
+        // Given
+        Dataset current = Dataset.of(1, List.of(), List.of(new FireStation("1509 Culver St", "3")), List.of(), LocalDate.now());
+
+        // When
+        List<WalEntry> entries = DatasetDiff.between(current, List.of(), List.of(new FireStation("1509 Culver St", "3")), List.of());
+
+        // Then
+        assertTrue(entries.isEmpty());
+    }
+}
@@ -0,0 +1,368 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.safetynet.safetynetalerts.index.AgeStatistics;
+import com.safetynet.safetynetalerts.index.Household;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link Dataset}.
+ * Vérifie que chaque mutation produit un nouvel instantané sans modifier le précédent.
+ */
+class DatasetTest {
+
+    private final Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+    private final FireStation station = new FireStation("1509 Culver St", "3");
+
+    /**
+     * Vérifie que la mise à jour remplace la personne dans un nouvel instantané, en partageant les listes non modifiées.
+     */
+    @Test
+    void apply_ShouldCopyOnWrite() {
+        // Given
+        Dataset dataset = Dataset.of(4, List.of(john), List.of(station), List.of(), LocalDate.now());
+        Person moved = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        WalEntry entry = WalEntry.updatePerson("John", "Boyd", moved);
+        entry.setSequence(5);
+
+        // When
+        Dataset next = dataset.apply(entry);
+
+        // Then
+        assertEquals(5, next.getVersion());
+        assertSame(moved, next.getPersons().get(0));
+        assertSame(john, dataset.getPersons().get(0));
+        assertEquals("1509 Culver St", john.getAddress());
+        assertSame(dataset.getFirestations(), next.getFirestations());
+        assertThrows(UnsupportedOperationException.class, () -> next.getPersons().add(john));
+    }
+
+    /**
+     * Vérifie qu'une mutation visant un élément introuvable ne produit pas de nouvel instantané.
+     */
+    @Test
+    void apply_ShouldReturnNullWhenNothingChanges() {
+        // Given
+        Dataset dataset = Dataset.of(1, List.of(john), List.of(station), List.of(), LocalDate.now());
+
+        // When / Then
+        assertNull(dataset.apply(WalEntry.deletePerson("Jane", "Doe")));
+        assertNull(dataset.apply(WalEntry.updateFireStation("29 15th St", "2")));
+        assertNull(dataset.apply(WalEntry.deleteMedicalRecord("John", "Boyd")));
+    }
+
+    /**
+     * Vérifie l'ajout et la suppression, la clé des dossiers médicaux étant insensible à la casse.
+     */
+    @Test
+    void apply_ShouldAddAndDelete() {
+        // Given
+        Dataset dataset = Dataset.of(0, List.of(), List.of(), List.of(), LocalDate.now());
+        MedicalRecord record = new MedicalRecord("John", "Boyd", null, List.of(), List.of());
+
+        // When
+        Dataset added = dataset.apply(WalEntry.addMedicalRecord(record));
+        Dataset deleted = added.apply(WalEntry.deleteMedicalRecord("JOHN", "boyd"));
+
+        // Then
+        assertEquals(List.of(record), added.getMedicalrecords());
+        assertTrue(deleted.getMedicalrecords().isEmpty());
+        assertTrue(dataset.getMedicalrecords().isEmpty());
+    }
+
+    /**
+     * Vérifie que l'index nominatif suit les mutations, avec une clé normalisée (casse et espaces ignorés).
+     */
+    @Test
+    void findByName_ShouldFollowMutations() {
+        // Given
+        MedicalRecord record = new MedicalRecord("John", "Boyd", null, List.of(), List.of("peanut"));
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(), List.of(record), LocalDate.now());
+        Person moved = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        MedicalRecord updated = new MedicalRecord("John", "Boyd", null, List.of(), List.of());
+
+        // When
+        Dataset next = dataset.apply(WalEntry.updatePerson("John", "Boyd", moved))
+                .apply(WalEntry.updateMedicalRecord("john", "BOYD", updated));
+        Dataset deleted = next.apply(WalEntry.deletePerson("John", "Boyd"));
+
+        // Then
+        assertSame(john, dataset.findPerson(" john ", "BOYD"));
+        assertSame(record, dataset.findMedicalRecord("John", "Boyd"));
+        assertSame(moved, next.findPerson("John", "Boyd"));
+        assertSame(updated, next.findMedicalRecord("JOHN", "boyd"));
+        assertNull(deleted.findPerson("John", "Boyd"));
+        assertSame(updated, deleted.findMedicalRecord("John", "Boyd"));
+        assertNull(dataset.findPerson("Jane", "Boyd"));
+    }
+
+    /**
+     * Vérifie qu'après la suppression d'un doublon, l'index désigne l'élément restant.
+     */
+    @Test
+    void findByName_ShouldFallBackToRemainingDuplicate() {
+        // Given
+        Person upperCase = new Person("JOHN", "BOYD", "29 15th St", "Culver", "97451", "841-874-6513", "john@email.com");
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(), List.of(), LocalDate.now())
+                .apply(WalEntry.addPerson(upperCase));
+
+        // When
+        Dataset next = dataset.apply(WalEntry.deletePerson("John", "Boyd"));
+
+        // Then
+        assertSame(john, dataset.findPerson("john", "boyd"));
+        assertSame(upperCase, next.findPerson("john", "boyd"));
+    }
+
+    /**
+     * Vérifie que l'index des adresses suit les ajouts, les déménagements et les suppressions.
+     */
+    @Test
+    void findPersonsByAddress_ShouldFollowMutations() {
+        // Given
+        Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(), List.of(), LocalDate.now());
+        Person moved = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+
+        // When
+        Dataset added = dataset.apply(WalEntry.addPerson(jacob));
+        Dataset updated = added.apply(WalEntry.updatePerson("John", "Boyd", moved));
+        Dataset deleted = updated.apply(WalEntry.deletePerson("Jacob", "Boyd"));
+
+        // Then
+        assertEquals(List.of(john, jacob), added.findPersonsByAddress("1509 CULVER ST "));
+        assertEquals(List.of(jacob), updated.findPersonsByAddress("1509 Culver St"));
+        assertEquals(List.of(moved), updated.findPersonsByAddress("29 15th St"));
+        assertTrue(deleted.findPersonsByAddress("1509 Culver St").isEmpty());
+        assertEquals(List.of(john), dataset.findPersonsByAddress("1509 Culver St"));
+    }
+
+    /**
+     * Vérifie que les index des casernes suivent les changements de numéro et les suppressions.
+     */
+    @Test
+    void findStations_ShouldFollowMutations() {
+        // Given
+        FireStation other = new FireStation("29 15th St", "3");
+        Dataset dataset = Dataset.of(0, List.of(), List.of(station, other), List.of(), LocalDate.now());
+
+        // When
+        Dataset updated = dataset.apply(WalEntry.updateFireStation("1509 Culver St", "2"));
+        Dataset deleted = updated.apply(WalEntry.deleteFireStation("29 15th St"));
+
+        // Then
+        assertEquals(List.of("1509 Culver St", "29 15th St"), dataset.findAddressesByStation("3"));
+        assertEquals("3", dataset.findStationByAddress("1509 culver st"));
+        assertEquals(List.of("29 15th St"), updated.findAddressesByStation("3"));
+        assertEquals(List.of("1509 Culver St"), updated.findAddressesByStation("2"));
+        assertEquals("2", updated.findStationByAddress("1509 Culver St"));
+        assertTrue(deleted.findAddressesByStation("3").isEmpty());
+        assertNull(deleted.findStationByAddress("29 15th St"));
+    }
+
+    /**
+     * Vérifie que les emails d'une ville restent dédupliqués : un email partagé ne disparaît
+     * qu'avec la dernière personne qui le porte, et un changement d'email ou de ville est pris en compte.
+     */
+    @Test
+    void findEmailsByCity_ShouldCountReferences() {
+        // Given
+        Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "jaboyd@email.com");
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6514", "tenz@email.com");
+        Dataset dataset = Dataset.of(0, List.of(john, jacob, tenley), List.of(), List.of(), LocalDate.now());
+        Person movedAway = new Person("Tenley", "Boyd", "29 15th St", "Paris", "97451", "841-874-6514", "tenz@email.com");
+
+        // When
+        Dataset deleted = dataset.apply(WalEntry.deletePerson("John", "Boyd"));
+        Dataset changedEmail = deleted.apply(WalEntry.updatePerson("Jacob", "Boyd",
+                new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "jacob@email.com")));
+        Dataset moved = changedEmail.apply(WalEntry.updatePerson("Tenley", "Boyd", movedAway));
+
+        // Then
+        assertEquals(List.of("jaboyd@email.com", "tenz@email.com"), dataset.findEmailsByCity(" CULVER"));
+        assertEquals(List.of("jaboyd@email.com", "tenz@email.com"), deleted.findEmailsByCity("Culver"));
+        assertEquals(List.of("tenz@email.com", "jacob@email.com"), changedEmail.findEmailsByCity("Culver"));
+        assertEquals(List.of("jacob@email.com"), moved.findEmailsByCity("Culver"));
+        assertEquals(List.of("tenz@email.com"), moved.findEmailsByCity("paris"));
+    }
+
+    /**
+     * Vérifie qu'une mise à jour ne changeant ni la ville ni l'email réutilise la liste des emails de la ville.
+     */
+    @Test
+    void findEmailsByCity_ShouldShareListWhenEmailsUnchanged() {
+        // Given
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(), List.of(), LocalDate.now());
+        Person newPhone = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-0000", "jaboyd@email.com");
+
+        // When
+        Dataset next = dataset.apply(WalEntry.updatePerson("John", "Boyd", newPhone));
+
+        // Then
+        assertSame(dataset.findEmailsByCity("Culver"), next.findEmailsByCity("Culver"));
+        assertEquals("841-874-0000", next.findPerson("John", "Boyd").getPhone());
+    }
+
+    /**
+     * Vérifie la recherche par nom de famille, insensible à la casse et aux accents, exacte ou par préfixe.
+     */
+    @Test
+    void findPersonsByLastName_ShouldIgnoreCaseAndAccents() {
+        // Given
+        Person emile = new Person("Émile", "Dupré", "1 rue de la Paix", "Paris", "75000", "01", "emile@email.com");
+        Person jean = new Person("Jean", "DUPONT", "2 rue de la Paix", "Paris", "75000", "02", "jean@email.com");
+        Person anne = new Person("Anne", "Dupre", "3 rue de la Paix", "Paris", "75000", "03", "anne@email.com");
+        Dataset dataset = Dataset.of(0, List.of(emile, john, jean), List.of(), List.of(), LocalDate.now());
+
+        // When
+        Dataset added = dataset.apply(WalEntry.addPerson(anne));
+        Dataset deleted = added.apply(WalEntry.deletePerson("Émile", "Dupré"));
+
+        // Then
+        assertEquals(List.of(emile), dataset.findPersonsByLastName("dupre"));
+        assertEquals(List.of(emile, anne), added.findPersonsByLastName(" DUPRÉ "));
+        assertEquals(List.of(jean, emile, anne), added.findPersonsByLastNamePrefix("Dup"));
+        assertEquals(List.of(jean, anne), deleted.findPersonsByLastNamePrefix("dup"));
+        assertTrue(dataset.findPersonsByLastNamePrefix(" ").isEmpty());
+        assertTrue(dataset.findPersonsByLastName("Durand").isEmpty());
+    }
+
+    /**
+     * Vérifie que les foyers suivent les mutations des personnes et des dossiers médicaux,
+     * et sont recalculés au changement de date.
+     */
+    @Test
+    void findHousehold_ShouldFollowMutationsAndDate() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        MedicalRecord johnRecord = new MedicalRecord("John", "Boyd", birthdate(today.minusYears(40)), List.of(), List.of());
+        MedicalRecord tenleyRecord = new MedicalRecord("Tenley", "Boyd", birthdate(today.minusYears(19).plusDays(1)), List.of(), List.of());
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(station), List.of(johnRecord), today);
+
+        // When
+        Dataset added = dataset.apply(WalEntry.addPerson(tenley));
+        Dataset recorded = added.apply(WalEntry.addMedicalRecord(tenleyRecord));
+        Dataset tomorrow = recorded.withHouseholdsAsOf(today.plusYears(1));
+
+        // Then
+        Household household = recorded.findHousehold(" 1509 CULVER ST", today);
+        assertEquals(List.of(john, tenley), household.getResidents());
+        assertEquals(List.of("841-874-6512"), household.getPhones());
+        assertEquals(0, added.findHousehold("1509 Culver St", today).getChildren());
+        assertEquals(1, household.getAdults());
+        assertEquals(1, household.getChildren());
+        assertEquals(2, tomorrow.findHousehold("1509 Culver St", today.plusYears(1)).getAdults());
+        assertEquals(2, recorded.findHousehold("1509 Culver St", today.plusYears(1)).getAdults());
+        assertEquals(recorded.getVersion(), tomorrow.getVersion());
+        assertTrue(dataset.findHousehold("29 15th St", today).getResidents().isEmpty());
+    }
+
+    /**
+     * Vérifie que les adresses, villes, codes postaux et numéros de caserne égaux partagent le même exemplaire,
+     * au chargement comme après un ajout ou une mise à jour.
+     */
+    @Test
+    void strings_ShouldBeCanonical() {
+        // Given
+        Person jacob = new Person("Jacob", "Boyd", new String("1509 Culver St"), new String("Culver"), new String("97451"),
+                "841-874-6513", "drk@email.com");
+        Person tenley = new Person("Tenley", "Boyd", new String("1509 Culver St"), new String("Culver"), new String("97451"),
+                "841-874-6512", "tenz@email.com");
+        FireStation other = new FireStation("29 15th St", new String("3"));
+        Dataset dataset = Dataset.of(0, List.of(john, jacob), List.of(station, other), List.of(), LocalDate.now());
+
+        // When
+        Dataset added = dataset.apply(WalEntry.addPerson(tenley));
+        Dataset updated = added.apply(WalEntry.updateFireStation(new String("29 15th St"), new String("3")));
+
+        // Then
+        assertSame(john.getAddress(), jacob.getAddress());
+        assertSame(john.getCity(), jacob.getCity());
+        assertSame(john.getZip(), jacob.getZip());
+        assertSame(station.getAddress(), john.getAddress());
+        assertSame(station.getStation(), other.getStation());
+        assertSame(john.getAddress(), added.getPersons().get(2).getAddress());
+        assertSame(station.getStation(), updated.getFirestations().get(1).getStation());
+        assertSame(other.getAddress(), updated.getFirestations().get(1).getAddress());
+    }
+
+    /**
+     * Vérifie que les colonnes des personnes sont construites une seule fois par instantané
+     * et suivent les mutations des dossiers médicaux.
+     */
+    @Test
+    void getPersonColumns_ShouldBeBuiltOncePerSnapshot() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(), List.of(), today);
+
+        // When
+        Dataset recorded = dataset.apply(WalEntry.addMedicalRecord(
+                new MedicalRecord("John", "Boyd", birthdate(today.minusYears(19)), List.of(), List.of())));
+
+        // Then
+        assertSame(dataset.getPersonColumns(), dataset.getPersonColumns());
+        assertEquals(1, dataset.getPersonColumns().ageStatistics(null, today).withoutMedicalRecord());
+        assertEquals(1, recorded.getPersonColumns().ageStatistics("culver", today).adults());
+        assertEquals(1, recorded.getPersonColumns().ageStatistics("culver", today.minusDays(1)).children());
+    }
+
+    /**
+     * Vérifie qu'une personne dont le dossier médical n'a pas de date de naissance est comptée comme un enfant
+     * (âge 0) à la fois par son foyer et par les statistiques d'âge, et non comme une personne d'âge inconnu.
+     */
+    @Test
+    void getPersonColumns_ShouldCountUndatedRecordAsChildLikeHousehold() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Dataset dataset = Dataset.of(0, List.of(john), List.of(),
+                List.of(new MedicalRecord("John", "Boyd", null, List.of(), List.of())), today);
+
+        // When
+        AgeStatistics statistics = dataset.getPersonColumns().ageStatistics(null, today);
+        Household household = dataset.findHousehold("1509 Culver St", today);
+
+        // Then
+        assertEquals(new AgeStatistics(1, 0, 1, 0), statistics);
+        assertEquals(1, household.getChildren());
+        assertEquals(0, household.getAdults());
+    }
+
+    /**
+     * Vérifie les recherches par intervalle de dates de naissance, qui suivent les mutations des dossiers médicaux.
+     */
+    @Test
+    void findPersonsOlderThan_ShouldUseBirthDayRanges() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        MedicalRecord johnRecord = new MedicalRecord("John", "Boyd", birthdate(today.minusYears(41)), List.of(), List.of());
+        MedicalRecord tenleyRecord = new MedicalRecord("tenley", "BOYD", birthdate(today.minusYears(40).plusDays(1)), List.of(), List.of());
+        Dataset dataset = Dataset.of(0, List.of(john, tenley), List.of(), List.of(johnRecord, tenleyRecord), today);
+
+        // When
+        Dataset updated = dataset.apply(WalEntry.updateMedicalRecord("Tenley", "Boyd",
+                new MedicalRecord("Tenley", "Boyd", birthdate(today.minusYears(50)), List.of(), List.of())));
+
+        // Then
+        assertEquals(List.of(john), dataset.findPersonsOlderThan(40, today));
+        assertEquals(List.of(john, tenley), dataset.findPersonsOlderThan(38, today));
+        assertEquals(List.of(tenley, john), updated.findPersonsOlderThan(40, today));
+        assertEquals(List.of(tenleyRecord), dataset.findMedicalRecordsBornBetween(today.minusYears(40), today));
+        assertTrue(updated.findMedicalRecordsBornBetween(today.minusYears(40), today).isEmpty());
+    }
+
+    private static Date birthdate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
@@ -0,0 +1,80 @@
+package com.safetynet.safetynetalerts.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de test pour {@link GroupCommitFlusher}.
+ * Vérifie que les mutations reçues pendant la fenêtre de regroupement sont écrites en un seul lot.
+ */
+class GroupCommitFlusherTest {
+
+    /**
+     * Vérifie que les entrées soumises pendant la fenêtre sont écrites ensemble, en une seule écriture.
+     */
+    @Test
+    void submit_ShouldCoalesceEntriesWithinWindow() throws Exception {
+        // Given
+        WriteAheadLog writeAheadLog = mock(WriteAheadLog.class);
+        AtomicInteger flushedEntries = new AtomicInteger();
+        GroupCommitFlusher flusher = new GroupCommitFlusher(writeAheadLog, Duration.ofMillis(100), 100, flushedEntries::addAndGet);
+
+        // When
+        CompletableFuture<Void> first = flusher.submit(WalEntry.deletePerson("John", "Doe"));
+        CompletableFuture<Void> second = flusher.submit(WalEntry.deletePerson("Jane", "Doe"));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        flusher.close();
+
+        // Then
+        assertSame(first, second);
+        verify(writeAheadLog, times(1)).append(argThat((List<WalEntry> batch) -> batch.size() == 2));
+        assertEquals(2, flushedEntries.get());
+    }
+
+    /**
+     * Vérifie qu'un lot atteignant la taille maximale est écrit sans attendre la fin de la fenêtre.
+     */
+    @Test
+    void submit_ShouldFlushImmediatelyWhenBatchIsFull() throws Exception {
+        // Given
+        WriteAheadLog writeAheadLog = mock(WriteAheadLog.class);
+        GroupCommitFlusher flusher = new GroupCommitFlusher(writeAheadLog, Duration.ofMinutes(10), 2, flushed -> { });
+
+        // When
+        flusher.submit(WalEntry.deleteFireStation("1 Main St"));
+        CompletableFuture<Void> durable = flusher.submit(WalEntry.deleteFireStation("2 Main St"));
+
+        // Then
+        durable.get(5, TimeUnit.SECONDS);
+        verify(writeAheadLog, times(1)).append(anyList());
+        flusher.close();
+    }
+
+    /**
+     * Vérifie qu'une erreur d'écriture est transmise aux appelants en attente du lot.
+     */
+    @Test
+    void submit_ShouldFailFutureWhenWriteFails() throws Exception {
+        // Given
+        WriteAheadLog writeAheadLog = mock(WriteAheadLog.class);
+        doThrow(new IOException("disque plein")).when(writeAheadLog).append(anyList());
+        GroupCommitFlusher flusher = new GroupCommitFlusher(writeAheadLog, Duration.ofMillis(10), 100, flushed -> { });
+
+        // When
+        CompletableFuture<Void> durable = flusher.submit(WalEntry.deletePerson("John", "Doe"));
+
+        // Then
+        assertThrows(Exception.class, () -> durable.get(5, TimeUnit.SECONDS));
+        flusher.close();
+    }
+}
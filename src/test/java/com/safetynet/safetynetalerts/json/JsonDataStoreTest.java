@@ -0,0 +1,61 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link JsonDataStore}.
+ * Vérifie l'initialisation du fichier de données à un emplacement externe et l'aller-retour des données.
+ */
+class JsonDataStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie qu'un fichier de données absent est initialisé depuis le classpath avant d'être lu.
+     */
+    @Test
+    void load_ShouldSeedMissingFileFromClasspath() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("ssd/safetynet/data.json");
+        JsonDataStore dataStore = new JsonDataStore(dataFile, new ObjectMapper(), true, false);
+
+        // When
+        FichierJsonDTO data = dataStore.load();
+
+        // Then
+        assertTrue(Files.exists(dataFile));
+        assertFalse(data.getPersons().isEmpty());
+        assertFalse(data.getFirestations().isEmpty());
+        assertFalse(data.getMedicalrecords().isEmpty());
+    }
+
+    /**
+     * Vérifie que les données enregistrées sont relues à l'identique.
+     */
+    @Test
+    void saveThenLoad_ShouldRestoreData() throws IOException {
+        // Given
+        JsonDataStore dataStore = new JsonDataStore(tempDir.resolve("data.json"), new ObjectMapper(), false, true);
+        FichierJsonDTO data = new FichierJsonDTO(List.of(), List.of(new FireStation("1509 Culver St", "3")), List.of(), 5);
+
+        // When
+        dataStore.save(data);
+        FichierJsonDTO reloaded = dataStore.load();
+
+        // Then
+        assertEquals("1509 Culver St", reloaded.getFirestations().get(0).getAddress());
+        assertEquals(5, reloaded.getWalSequence());
+    }
+}
@@ -6,14 +6,23 @@ import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
 import com.safetynet.safetynetalerts.model.FireStation;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
+import com.safetynet.safetynetalerts.service.AgeService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 
@@ -25,6 +34,9 @@ import static org.mockito.Mockito.*;
 @SpringBootTest
 class JsonFileWriterTest {
 
+    private static final AgeService AGE_SERVICE = new AgeService("UTC", event -> {
+    });
+
     /**
      * Teste la méthode writeToFile pour s'assurer qu'elle écrit des données valides dans un fichier JSON.
      * <p>
@@ -37,14 +49,16 @@ class JsonFileWriterTest {
      * @throws IOException en cas d'erreur d'entrée/sortie lors de l'écriture.
      */
     @Test
-    void writeToFile_ShouldWriteValidDataToFile() throws IOException {
+    void writeToFile_ShouldWriteValidDataToFile(@TempDir Path directory) throws IOException {
         // Étape 1 : Création d'un mock pour ObjectMapper
         ObjectMapper mockObjectMapper = Mockito.mock(ObjectMapper.class);
         // Création d'un mock pour ObjectWriter (retourné par writerWithDefaultPrettyPrinter)
         var mockObjectWriter = Mockito.mock(ObjectWriter.class);
 
         // Étape 2 : Instanciation de l'objet testé
-        JsonFileWriter jsonFileWriter = new JsonFileWriter();
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(directory.resolve("data.json").toString());
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, new DataStoreConfiguration().dataStore(properties), AGE_SERVICE);
 
         // Étape 3 : Préparation des données fictives pour le test
         FichierJsonDTO fichierJsonDTO = new FichierJsonDTO();
@@ -60,4 +74,199 @@ class JsonFileWriterTest {
         jsonFileWriter.writeToFile();
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie qu'en lecture seule les données sont immuables et que toute écriture est refusée.
+     */
+    @Test
+    void readOnly_ShouldLoadImmutableDataAndRejectWrites(@TempDir Path directory) {
+        // Given
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(directory.resolve("data.json").toString());
+        properties.setReadOnly(true);
+
+        // When
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, new DataStoreConfiguration().dataStore(properties), AGE_SERVICE);
+
+        // Then
+        assertFalse(jsonFileWriter.getPersons().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> jsonFileWriter.getPersons().add(new Person()));
+        assertThrows(RuntimeException.class, () -> jsonFileWriter.apply(WalEntry.deletePerson("John", "Boyd")));
+        assertThrows(RuntimeException.class, jsonFileWriter::writeToFile);
+        jsonFileWriter.close();
+    }
+
+    /**
+     * Vérifie qu'un fichier de données illisible empêche le démarrage, sans rejouer le journal
+     * ni écraser le fichier par des données vides.
+     */
+    @Test
+    void unreadableDataFile_ShouldFailWithoutCompacting(@TempDir Path directory) throws IOException {
+        // Given
+        Path dataFile = directory.resolve("data.json");
+        Files.writeString(dataFile, "{ \"persons\": [ tronqué");
+        Path walFile = directory.resolve("data.json.wal");
+        Files.writeString(walFile, "");
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(dataFile.toString());
+        DataStore dataStore = new DataStoreConfiguration().dataStore(properties);
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> new JsonFileWriter(properties, dataStore, AGE_SERVICE));
+        assertEquals("{ \"persons\": [ tronqué", Files.readString(dataFile));
+        assertTrue(Files.exists(walFile));
+    }
+
+    /**
+     * Vérifie que l'arrêt ne réécrit le fichier de données que si des écritures ont eu lieu depuis le chargement.
+     */
+    @Test
+    void close_ShouldCompactOnlyAfterWrites(@TempDir Path directory) throws IOException {
+        // Given
+        Path dataFile = directory.resolve("data.json");
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(dataFile.toString());
+        DataStore dataStore = new DataStoreConfiguration().dataStore(properties);
+        new JsonFileWriter(properties, dataStore, AGE_SERVICE).close(); // Initialise le fichier depuis le classpath
+        FileTime seeded = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(dataFile, seeded);
+
+        // When : arrêt sans écriture
+        new JsonFileWriter(properties, dataStore, AGE_SERVICE).close();
+
+        // Then
+        assertEquals(seeded, Files.getLastModifiedTime(dataFile));
+
+        // When : arrêt après une écriture
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, dataStore, AGE_SERVICE);
+        assertTrue(jsonFileWriter.apply(WalEntry.deletePerson("John", "Boyd")));
+        jsonFileWriter.close();
+
+        // Then
+        assertNotEquals(seeded, Files.getLastModifiedTime(dataFile));
+        assertEquals(0, Files.size(directory.resolve("data.json.wal")));
+        JsonFileWriter reopened = new JsonFileWriter(properties, dataStore, AGE_SERVICE);
+        assertTrue(reopened.getPersons().stream()
+                .noneMatch(person -> "John".equals(person.getFirstName()) && "Boyd".equals(person.getLastName())));
+        reopened.close();
+    }
+
+    /**
+     * Vérifie que le rechargement d'un fichier modifié par un système externe conserve les écritures
+     * de l'application encore présentes dans le journal, y compris après redémarrage.
+     */
+    @Test
+    void reloadIfModified_ShouldKeepJournalWritesMadeBeforeExternalEdit(@TempDir Path directory) throws IOException {
+        // Given : une écriture de l'application, présente dans le journal mais pas dans le fichier
+        Path dataFile = directory.resolve("data.json");
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(dataFile.toString());
+        DataStore dataStore = new DataStoreConfiguration().dataStore(properties);
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, dataStore, AGE_SERVICE);
+        assertTrue(jsonFileWriter.apply(WalEntry.deletePerson("John", "Boyd")));
+
+        // Given : une modification externe du fichier
+        ObjectMapper objectMapper = new ObjectMapper();
+        FichierJsonDTO fichierJsonDTO = objectMapper.readValue(dataFile.toFile(), FichierJsonDTO.class);
+        fichierJsonDTO.getPersons().stream()
+                .filter(person -> "Jacob".equals(person.getFirstName()) && "Boyd".equals(person.getLastName()))
+                .forEach(person -> person.setPhone("841-874-0000"));
+        objectMapper.writeValue(dataFile.toFile(), fichierJsonDTO);
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        // When
+        int applied = jsonFileWriter.reloadIfModified();
+        jsonFileWriter.close();
+        JsonFileWriter reopened = new JsonFileWriter(properties, dataStore, AGE_SERVICE);
+
+        // Then
+        assertEquals(1, applied);
+        for (JsonFileWriter writer : List.of(jsonFileWriter, reopened)) {
+            assertNull(writer.getDataset().findPerson("John", "Boyd"));
+            assertEquals("841-874-0000", writer.getDataset().findPerson("Jacob", "Boyd").getPhone());
+        }
+        reopened.close();
+    }
+
+    /**
+     * Vérifie que les foyers du premier instantané sont calculés pour la date du jour de l'application,
+     * dans son fuseau et non dans celui de la JVM.
+     */
+    @Test
+    void load_ShouldComputeHouseholdsForApplicationToday(@TempDir Path directory) {
+        // Given
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(directory.resolve("data.json").toString());
+        properties.setReadOnly(true);
+        AgeService ageService = new AgeService("Pacific/Kiritimati", event -> {
+        });
+
+        // When
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, new DataStoreConfiguration().dataStore(properties), ageService);
+
+        // Then
+        assertEquals(ageService.today(), jsonFileWriter.getDataset().getHouseholdsAsOf());
+    }
+
+    /**
+     * Vérifie qu'une écriture acquittée survit à un arrêt brutal, même lorsqu'une compaction suit immédiatement
+     * chaque lot du journal et que d'autres compactions sont demandées en parallèle : après chaque écriture,
+     * les données récupérées depuis le disque (fichier et journal) la contiennent.
+     */
+    @Test
+    void apply_ShouldKeepAcknowledgedWritesRecoverableAcrossCompactions(@TempDir Path directory) throws Exception {
+        // Given : un lot par écriture et une compaction après chaque lot
+        Path dataFile = directory.resolve("data.json");
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataFile(dataFile.toString());
+        properties.setFlushMaxEntries(1);
+        properties.setCompactionThreshold(1);
+        properties.setParallelLoad(false); // Lecture d'un seul tenant, le fichier étant remplacé pendant le test
+        DataStore dataStore = new DataStoreConfiguration().dataStore(properties);
+        JsonFileWriter jsonFileWriter = new JsonFileWriter(properties, dataStore, AGE_SERVICE);
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory.resolve("data.json.wal"), new ObjectMapper());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> compactions = CompletableFuture.runAsync(() -> {
+            while (writing.get()) {
+                jsonFileWriter.writeToFile();
+            }
+        });
+
+        try {
+            for (int i = 0; i < 50; i++) {
+                // When
+                assertTrue(jsonFileWriter.apply(WalEntry.addPerson(new Person("Crash" + i, "Test", "1509 Culver St",
+                        "Culver", "97451", "841-874-6512", "crash@email.com"))));
+
+                // Then
+                Dataset recovered = recover(dataStore, writeAheadLog);
+                for (int j = 0; j <= i; j++) {
+                    assertNotNull(recovered.findPerson("Crash" + j, "Test"), "écriture " + j + " perdue après l'écriture " + i);
+                }
+            }
+        } finally {
+            writing.set(false);
+            compactions.join();
+            jsonFileWriter.close();
+        }
+    }
+
+    /**
+     * Reconstitue les données telles qu'un redémarrage après un arrêt brutal les relirait.
+     * Le journal est lu avant le fichier : une compaction intercalée entre les deux lectures ne peut alors
+     * qu'ajouter au fichier des entrées déjà lues, et non vider le journal d'entrées que le fichier lu n'a pas.
+     */
+    private static Dataset recover(DataStore dataStore, WriteAheadLog writeAheadLog) throws IOException {
+        List<WalEntry> journal = writeAheadLog.readAll();
+        FichierJsonDTO fichierJsonDTO = dataStore.load();
+        Dataset dataset = Dataset.of(fichierJsonDTO.getWalSequence(), fichierJsonDTO.getPersons(),
+                fichierJsonDTO.getFirestations(), fichierJsonDTO.getMedicalrecords(), AGE_SERVICE.today());
+        for (WalEntry entry : journal) {
+            if (entry.getSequence() > dataset.getVersion()) {
+                Dataset next = dataset.apply(entry);
+                dataset = next != null ? next : dataset.withVersion(entry.getSequence());
+            }
+        }
+        return dataset;
+    }
+}
@@ -0,0 +1,116 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link JsonSnapshotReader}.
+ * Vérifie la lecture au fil de l'eau du fichier de données.
+ */
+class JsonSnapshotReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que les trois tableaux et le numéro de séquence sont lus, et que les champs inconnus sont ignorés.
+     */
+    @Test
+    void read_ShouldLoadArraysAndSkipUnknownFields() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, """
+                {
+                  "version" : { "format" : 2, "tags" : [ 1, 2 ] },
+                  "persons" : [ { "firstName" : "John", "lastName" : "Boyd", "address" : "1509 Culver St",
+                                  "city" : "Culver", "zip" : "97451", "phone" : "841-874-6512", "email" : "jaboyd@email.com" } ],
+                  "firestations" : [ { "address" : "1509 Culver St", "station" : "3" } ],
+                  "medicalrecords" : [ { "firstName" : "John", "lastName" : "Boyd", "birthdate" : "03/06/1984",
+                                         "medications" : [ "aznol:350mg" ], "allergies" : [ "nillacilan" ] } ],
+                  "walSequence" : 7
+                }
+                """);
+
+        // When
+        FichierJsonDTO data = new JsonSnapshotReader(new ObjectMapper()).read(dataFile);
+
+        // Then
+        assertEquals(1, data.getPersons().size());
+        Person person = data.getPersons().get(0);
+        assertEquals("John", person.getFirstName());
+        assertEquals("jaboyd@email.com", person.getEmail());
+        assertEquals("3", data.getFirestations().get(0).getStation());
+        assertEquals("aznol:350mg", data.getMedicalrecords().get(0).getMedications().get(0));
+        assertEquals(7, data.getWalSequence());
+    }
+
+    /**
+     * Vérifie que la lecture parallèle des sections donne le même résultat que la lecture séquentielle.
+     */
+    @Test
+    void readParallel_ShouldMatchSequentialRead() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, """
+                { "commentaire" : "données — accentuées", "walSequence" : 3,
+                  "firestations" : [ { "address" : "29 15th St", "station" : "2" }, { "address" : "834 Binoc Ave", "station" : "3" } ],
+                  "persons" : [ { "firstName" : "Éloïse", "lastName" : "Boyd", "address" : "29 15th St" } ] }
+                """);
+        JsonSnapshotReader reader = new JsonSnapshotReader(new ObjectMapper());
+
+        // When
+        FichierJsonDTO sequential = reader.read(dataFile);
+        FichierJsonDTO parallel = reader.readParallel(dataFile, ForkJoinPool.commonPool());
+
+        // Then
+        assertEquals(1, parallel.getPersons().size());
+        assertEquals(sequential.getPersons().get(0).getFirstName(), parallel.getPersons().get(0).getFirstName());
+        assertEquals(2, parallel.getFirestations().size());
+        assertEquals("834 Binoc Ave", parallel.getFirestations().get(1).getAddress());
+        assertTrue(parallel.getMedicalrecords().isEmpty());
+        assertEquals(3, parallel.getWalSequence());
+    }
+
+    /**
+     * Vérifie qu'un tableau absent ou nul donne une liste vide et modifiable.
+     */
+    @Test
+    void read_ShouldReturnEmptyListsForMissingArrays() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{ \"persons\" : null }");
+
+        // When
+        FichierJsonDTO data = new JsonSnapshotReader(new ObjectMapper()).read(dataFile);
+
+        // Then
+        assertTrue(data.getPersons().isEmpty());
+        assertTrue(data.getFirestations().isEmpty());
+        assertTrue(data.getMedicalrecords().isEmpty());
+        assertEquals(0, data.getWalSequence());
+        data.getPersons().add(new Person());
+    }
+
+    /**
+     * Vérifie qu'un document qui n'est pas un objet JSON est rejeté.
+     */
+    @Test
+    void read_ShouldRejectNonObjectDocument() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "[ ]");
+
+        // When / Then
+        assertThrows(IOException.class, () -> new JsonSnapshotReader(new ObjectMapper()).read(dataFile));
+    }
+}
@@ -0,0 +1,55 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.safetynetalerts.dto.FichierJsonDTO;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link JsonSnapshotWriter}.
+ * Vérifie que l'instantané est écrit de manière compacte et remplace atomiquement le fichier existant.
+ */
+class JsonSnapshotWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que l'instantané écrit se relit à l'identique et remplace l'ancien fichier sans laisser de fichier temporaire.
+     */
+    @Test
+    void write_ShouldReplaceTargetAtomically() throws IOException {
+        // Given
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{ \"ancien\" : true }");
+        FichierJsonDTO data = new FichierJsonDTO(
+                List.of(new Person("John", "Doe", "1 Main St", "Culver", "97451", "841-874-6512", "john@email.com")),
+                List.of(new FireStation("1 Main St", "3")),
+                List.of(new MedicalRecord("John", "Doe", new Date(0), List.of("nillacilan"), List.of("aznol:350mg"))),
+                42);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // When
+        new JsonSnapshotWriter(objectMapper).write(dataFile, data);
+
+        // Then
+        FichierJsonDTO reloaded = objectMapper.readValue(dataFile.toFile(), FichierJsonDTO.class);
+        assertEquals("john@email.com", reloaded.getPersons().get(0).getEmail());
+        assertEquals("3", reloaded.getFirestations().get(0).getStation());
+        assertEquals(List.of("aznol:350mg"), reloaded.getMedicalrecords().get(0).getMedications());
+        assertEquals(42, reloaded.getWalSequence());
+        assertFalse(Files.exists(tempDir.resolve("data.json.tmp")));
+        assertFalse(Files.readString(dataFile).contains("\n"), "L'instantané doit être écrit sans mise en forme.");
+    }
+}
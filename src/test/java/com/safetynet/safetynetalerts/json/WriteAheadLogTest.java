@@ -0,0 +1,92 @@
+package com.safetynet.safetynetalerts.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de test pour {@link WriteAheadLog}.
+ * Vérifie l'ajout, la relecture et la remise à zéro du journal d'écriture anticipée.
+ */
+class WriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que les entrées ajoutées sont relues dans l'ordre d'écriture avec leur contenu.
+     */
+    @Test
+    void append_ShouldBeReadBackInOrder() throws IOException {
+        // Given
+        Path walFile = tempDir.resolve("data.json.wal");
+        WalEntry addPerson = WalEntry.addPerson(new Person("John", "Doe", "1 Main St", "Culver", "97451", "841-874-6512", "john@email.com"));
+        addPerson.setSequence(1);
+        WalEntry updateStation = WalEntry.updateFireStation("1 Main St", "3");
+        updateStation.setSequence(2);
+
+        // When
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walFile, new ObjectMapper())) {
+            writeAheadLog.append(addPerson);
+            writeAheadLog.append(updateStation);
+        }
+        List<WalEntry> entries = new WriteAheadLog(walFile, new ObjectMapper()).readAll();
+
+        // Then
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).getSequence());
+        assertEquals(WalEntry.Operation.ADD, entries.get(0).getOperation());
+        assertEquals("john@email.com", entries.get(0).getPerson().getEmail());
+        assertEquals(WalEntry.EntityType.FIRESTATION, entries.get(1).getEntity());
+        assertEquals("3", entries.get(1).getFireStation().getStation());
+    }
+
+    /**
+     * Vérifie qu'une dernière ligne tronquée par un arrêt brutal est ignorée lors de la relecture.
+     */
+    @Test
+    void readAll_ShouldIgnoreTruncatedLastLine() throws IOException {
+        // Given
+        Path walFile = tempDir.resolve("data.json.wal");
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walFile, new ObjectMapper())) {
+            writeAheadLog.append(WalEntry.addFireStation(new FireStation("1 Main St", "1")));
+        }
+        Files.writeString(walFile, "{\"sequence\":2,\"operation\":\"DEL", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        List<WalEntry> entries = new WriteAheadLog(walFile, new ObjectMapper()).readAll();
+
+        // Then
+        assertEquals(1, entries.size());
+    }
+
+    /**
+     * Vérifie que le journal est vide après une remise à zéro.
+     */
+    @Test
+    void truncate_ShouldEmptyTheLog() throws IOException {
+        // Given
+        Path walFile = tempDir.resolve("data.json.wal");
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walFile, new ObjectMapper())) {
+            writeAheadLog.append(WalEntry.deletePerson("John", "Doe"));
+
+            // When
+            writeAheadLog.truncate();
+        }
+
+        // Then
+        assertTrue(new WriteAheadLog(walFile, new ObjectMapper()).readAll().isEmpty());
+        assertEquals(0, Files.size(walFile));
+    }
+}
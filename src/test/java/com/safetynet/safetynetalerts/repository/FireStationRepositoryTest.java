@@ -1,6 +1,8 @@
 package com.safetynet.safetynetalerts.repository;
 
+import com.safetynet.safetynetalerts.json.Dataset;
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
 import com.safetynet.safetynetalerts.model.FireStation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +48,7 @@ class FireStationRepositoryTest {
         fireStations = new ArrayList<>();
         fireStations.add(new FireStation("123 Main St", "1"));
         fireStations.add(new FireStation("456 Maple St", "2"));
+        when(jsonFileWriter.getDataset()).thenReturn(Dataset.of(0, List.of(), fireStations, List.of(), LocalDate.now()));
     }
 
 
@@ -64,8 +68,8 @@ class FireStationRepositoryTest {
         fireStationRepository.addFireStation(newStation);
 
         // Assert
-        verify(jsonFileWriter, times(1)).setFirestations(fireStations);
-        assertTrue(fireStations.contains(newStation));
+        verify(jsonFileWriter, times(1)).apply(argThat(entry -> entry.getOperation() == WalEntry.Operation.ADD
+                && entry.getFireStation() == newStation));
     }
 
     /**
@@ -80,14 +84,16 @@ class FireStationRepositoryTest {
         String targetAddress = "123 Main St";
         String newStationNumber = "4";
         when(jsonFileWriter.getFirestations()).thenReturn(fireStations);
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
 
         // Act
         boolean result = fireStationRepository.updateFireStation(targetAddress, newStationNumber);
 
         // Assert
         assertTrue(result);
-        assertEquals("4", fireStations.get(0).getStation());
-        verify(jsonFileWriter, times(1)).setFirestations(fireStations);
+        assertEquals("1", fireStations.get(0).getStation()); // l'instantané lu n'est jamais modifié
+        verify(jsonFileWriter, times(1)).apply(argThat(entry -> entry.getOperation() == WalEntry.Operation.UPDATE
+                && "4".equals(entry.getFireStation().getStation())));
     }
 
     /**
@@ -108,7 +114,7 @@ class FireStationRepositoryTest {
 
         // Assert
         assertFalse(result);
-        verify(jsonFileWriter, never()).setFirestations(any());
+        verify(jsonFileWriter, never()).apply(any(WalEntry.class));
     }
 
     /**
@@ -121,15 +127,14 @@ class FireStationRepositoryTest {
     void testDeleteFireStation_Success() {
         // Arrange
         String targetAddress = "123 Main St";
-        when(jsonFileWriter.getFirestations()).thenReturn(fireStations);
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
 
         // Act
         boolean result = fireStationRepository.deleteFireStation(targetAddress);
 
         // Assert
         assertTrue(result);
-        assertEquals(1, fireStations.size());
-        verify(jsonFileWriter, times(1)).setFirestations(fireStations);
+        verify(jsonFileWriter, times(1)).apply(any(WalEntry.class));
     }
 
     /**
@@ -170,4 +175,22 @@ class FireStationRepositoryTest {
         assertEquals(2, result.size());
         assertEquals(fireStations, result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test de la recherche des adresses couvertes par une caserne et de la caserne couvrant une adresse.
+     * <p>
+     * Vérifie que les index de l'instantané courant sont utilisés, sans tenir compte de la casse des adresses.
+     */
+    @Test
+    void testStationAddressLookups() {
+        // Act
+        List<String> addresses = fireStationRepository.getAddressesByStation("1");
+        String station = fireStationRepository.getStationByAddress("456 maple st");
+
+        // Assert
+        assertEquals(List.of("123 Main St"), addresses);
+        assertEquals("2", station);
+        assertTrue(fireStationRepository.getAddressesByStation("9").isEmpty());
+        assertNull(fireStationRepository.getStationByAddress("999 Unknown St"));
+    }
+}
@@ -1,6 +1,8 @@
 package com.safetynet.safetynetalerts.repository;
 
+import com.safetynet.safetynetalerts.json.Dataset;
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -36,6 +39,7 @@ class MedicalRecordRepositoryTest {
         medicalRecords.add(medicalRecord);
 
         when(jsonFileWriter.getMedicalrecords()).thenReturn(medicalRecords);
+        when(jsonFileWriter.getDataset()).thenReturn(Dataset.of(0, List.of(), List.of(), medicalRecords, LocalDate.now()));
     }
 
     /**
@@ -53,8 +57,8 @@ class MedicalRecordRepositoryTest {
         medicalRecordRepository.addMedicalRecord(newMedicalRecord);
 
         // Vérification
-        assertTrue(medicalRecords.contains(newMedicalRecord), "Le dossier médical devrait être ajouté à la liste.");
-        verify(jsonFileWriter, times(1)).setMedicalrecords(medicalRecords);
+        verify(jsonFileWriter, times(1)).apply(argThat(entry -> entry.getOperation() == WalEntry.Operation.ADD
+                && entry.getMedicalRecord() == newMedicalRecord));
     }
 
     /**
@@ -67,14 +71,15 @@ class MedicalRecordRepositoryTest {
     void testUpdateMedicalRecord_Success() {
         // Initialisation
         MedicalRecord updatedRecord = new MedicalRecord("John", "Doe", new Date(2001,1,1), List.of("ibuprofen"), List.of());
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
 
         // Appel de la méthode
         boolean result = medicalRecordRepository.updateMedicalRecord("John", "Doe", updatedRecord);
 
         // Vérification
         assertTrue(result, "La mise à jour devrait réussir.");
-        assertEquals(new Date(2001,1,1), medicalRecords.get(0).getBirthdate());
-        verify(jsonFileWriter, times(1)).setMedicalrecords(medicalRecords);
+        verify(jsonFileWriter, times(1)).apply(argThat(entry -> entry.getOperation() == WalEntry.Operation.UPDATE
+                && entry.getMedicalRecord() == updatedRecord));
     }
 
     /**
@@ -93,7 +98,7 @@ class MedicalRecordRepositoryTest {
 
         // Vérification
         assertFalse(result, "La mise à jour devrait échouer car l'entrée n'existe pas.");
-        verify(jsonFileWriter, never()).setMedicalrecords(any());
+        verify(jsonFileWriter, never()).apply(any(WalEntry.class));
     }
 
     /**
@@ -104,13 +109,15 @@ class MedicalRecordRepositoryTest {
      */
     @Test
     void testDeleteMedicalRecord_Success() {
+        // Initialisation
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
+
         // Appel de la méthode
         boolean result = medicalRecordRepository.deleteMedicalRecord("John", "Doe");
 
         // Vérification
         assertTrue(result, "La suppression devrait réussir.");
-        assertTrue(medicalRecords.isEmpty(), "La liste devrait être vide après la suppression.");
-        verify(jsonFileWriter, times(1)).setMedicalrecords(medicalRecords);
+        verify(jsonFileWriter, times(1)).apply(any(WalEntry.class));
     }
 
     /**
@@ -144,4 +151,19 @@ class MedicalRecordRepositoryTest {
         assertEquals(1, result.size(), "Il devrait y avoir un seul dossier médical dans la liste.");
         assertEquals("John", result.get(0).getFirstName(), "Le prénom devrait correspondre à 'John'.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Teste la recherche d'un dossier médical par l'index nominatif.
+     * <p>
+     * Vérifie que la recherche ignore la casse et renvoie null pour une personne inconnue.
+     */
+    @Test
+    void testFindMedicalRecord() {
+        // Appel de la méthode
+        MedicalRecord result = medicalRecordRepository.findMedicalRecord("JOHN", "doe");
+
+        // Vérification
+        assertSame(medicalRecords.get(0), result, "Le dossier de John Doe devrait être trouvé.");
+        assertNull(medicalRecordRepository.findMedicalRecord("Jane", "Smith"), "Aucun dossier ne devrait être trouvé.");
+    }
+}
@@ -1,6 +1,10 @@
 package com.safetynet.safetynetalerts.repository;
 
+import com.safetynet.safetynetalerts.index.AgeStatistics;
+import com.safetynet.safetynetalerts.json.Dataset;
 import com.safetynet.safetynetalerts.json.JsonFileWriter;
+import com.safetynet.safetynetalerts.json.WalEntry;
+import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +15,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,8 +58,8 @@ class PersonRepositoryTest {
 
         // Then
         assertEquals(newPerson, addedPerson);
-        verify(jsonFileWriter, times(1)).setPersons(mockPersonList);
-        assertTrue(mockPersonList.contains(newPerson));
+        verify(jsonFileWriter, times(1)).apply(argThat(entry -> entry.getOperation() == WalEntry.Operation.ADD
+                && entry.getPerson() == newPerson));
     }
 
     /**
@@ -64,6 +71,7 @@ class PersonRepositoryTest {
         // Given
         Person updatedPerson = new Person("John", "Doe", "999 New St", "San Francisco", "98765", "555-666-7777", "john.new@email.com");
         when(jsonFileWriter.getPersons()).thenReturn(mockPersonList);
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
 
         // When
         Person result = personRepository.updatePerson("John", "Doe", updatedPerson);
@@ -72,7 +80,8 @@ class PersonRepositoryTest {
         assertNotNull(result);
         assertEquals("999 New St", result.getAddress());
         assertEquals("john.new@email.com", result.getEmail());
-        verify(jsonFileWriter, times(1)).setPersons(mockPersonList);
+        assertEquals("123 Main St", mockPersonList.get(0).getAddress()); // l'instantané lu n'est jamais modifié
+        verify(jsonFileWriter, times(1)).apply(any(WalEntry.class));
     }
 
     /**
@@ -90,7 +99,7 @@ class PersonRepositoryTest {
 
         // Then
         assertNull(result);
-        verify(jsonFileWriter, never()).setPersons(mockPersonList);
+        verify(jsonFileWriter, never()).apply(any(WalEntry.class));
     }
 
     /**
@@ -100,8 +109,7 @@ class PersonRepositoryTest {
     @Test
     void deletePerson_ShouldRemovePerson() {
         // Given
-        when(jsonFileWriter.getPersons()).thenReturn(mockPersonList);
-        int initialSize = mockPersonList.size();
+        when(jsonFileWriter.apply(any(WalEntry.class))).thenReturn(true);
 
         // When
         boolean isDeleted = personRepository.deletePerson("John", "Doe");
@@ -124,7 +132,7 @@ class PersonRepositoryTest {
 
         // Then
         assertFalse(isDeleted);
-//        verify(jsonFileWriter, never()).setPersons(mockPersonList);
+//        verify(jsonFileWriter, never()).apply(any(WalEntry.class));
     }
 
     /**
@@ -144,4 +152,45 @@ class PersonRepositoryTest {
         assertEquals(2, result.size());
         verify(jsonFileWriter, times(1)).getPersons();
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie que les habitants d'une adresse sont retrouvés via l'index des adresses,
+     * sans tenir compte de la casse ni des espaces superflus.
+     */
+    @Test
+    void getPersonsByAddress_ShouldReturnResidents() {
+        // Given
+        when(jsonFileWriter.getDataset()).thenReturn(Dataset.of(0, mockPersonList, List.of(), List.of(), LocalDate.now()));
+
+        // When
+        List<Person> result = personRepository.getPersonsByAddress(" 123 main st");
+        List<Person> unknown = personRepository.getPersonsByAddress("1 Unknown St");
+
+        // Then
+        assertEquals(List.of(mockPersonList.get(0)), result);
+        assertTrue(unknown.isEmpty());
+    }
+
+    /**
+     * Vérifie les parcours de la représentation en colonnes : comptage par ville et statistiques d'âge,
+     * une personne sans dossier médical étant comptée à part.
+     */
+    @Test
+    void getAgeStatistics_ShouldScanColumns() {
+        // Given
+        MedicalRecord johnRecord = new MedicalRecord("John", "Doe",
+                Date.from(LocalDate.now().minusYears(10).atStartOfDay(ZoneId.systemDefault()).toInstant()), List.of(), List.of());
+        when(jsonFileWriter.getDataset()).thenReturn(Dataset.of(0, mockPersonList, List.of(), List.of(johnRecord), LocalDate.now()));
+
+        // When
+        AgeStatistics all = personRepository.getAgeStatistics(null, LocalDate.now());
+        AgeStatistics newYork = personRepository.getAgeStatistics(" new york", LocalDate.now());
+
+        // Then
+        assertEquals(new AgeStatistics(2, 0, 1, 1), all);
+        assertEquals(new AgeStatistics(1, 0, 1, 0), newYork);
+        assertEquals(new AgeStatistics(0, 0, 0, 0), personRepository.getAgeStatistics("Paris", LocalDate.now()));
+        assertEquals(1, personRepository.countPersonsByCity("LOS ANGELES"));
+        assertEquals(0, personRepository.countPersonsByCity("Paris"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.safetynet.safetynetalerts.service;
+
+import com.safetynet.safetynetalerts.index.BirthDates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de test pour le service {@link AgeService}.
+ * Vérifie le calcul des âges à partir des jours de naissance et la mise en cache de la date du jour.
+ */
+class AgeServiceTest {
+
+    private ApplicationEventPublisher eventPublisher;
+    private AgeService ageService;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ageService = new AgeService("UTC", eventPublisher);
+    }
+
+    /**
+     * Vérifie que l'âge change le jour de l'anniversaire et qu'une date nulle donne 0.
+     */
+    @Test
+    void age_ShouldChangeOnBirthday() {
+        // Given
+        LocalDate today = ageService.today();
+
+        // When / Then
+        assertEquals(10, ageService.age(date(today.minusYears(10))));
+        assertEquals(9, ageService.age(date(today.minusYears(10).plusDays(1))));
+        assertEquals(0, ageService.age((Date) null));
+        assertTrue(ageService.isChild(date(today.minusYears(19).plusDays(1))));
+        assertFalse(ageService.isChild(date(today.minusYears(19))));
+    }
+
+    /**
+     * Vérifie que le calcul sans allocation donne le même âge que {@link Period}, y compris pour les 29 février.
+     */
+    @Test
+    void age_ShouldMatchCalendar() {
+        // Given
+        LocalDate[] todays = {LocalDate.of(2023, 2, 28), LocalDate.of(2024, 2, 29), LocalDate.of(2025, 3, 1), LocalDate.of(2026, 12, 31)};
+        LocalDate[] births = {LocalDate.of(1904, 2, 29), LocalDate.of(1969, 12, 31), LocalDate.of(2000, 2, 29), LocalDate.of(2012, 3, 1)};
+
+        // When / Then
+        for (LocalDate today : todays) {
+            int todayPacked = BirthDates.packed((int) today.toEpochDay());
+            for (LocalDate birth : births) {
+                assertEquals(Period.between(birth, today).getYears(), BirthDates.age((int) birth.toEpochDay(), todayPacked),
+                        birth + " / " + today);
+            }
+        }
+    }
+
+    /**
+     * Vérifie qu'aucun événement n'est publié tant que la date du jour ne change pas.
+     */
+    @Test
+    void rollover_ShouldNotPublishWithinSameDay() {
+        // When
+        ageService.rollover();
+
+        // Then
+        assertEquals(LocalDate.now(ZoneId.of("UTC")), ageService.today());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
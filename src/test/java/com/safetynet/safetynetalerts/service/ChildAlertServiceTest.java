@@ -10,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
@@ -65,8 +66,9 @@ public class ChildAlertServiceTest {
     @Test
     void testGetChildrenAtAddress_WithChildren() {
         // Simulation des services pour fournir des données mockées
-        when(personService.getAllPersons()).thenReturn(mockPersons);
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(mockMedicalRecords);
+        when(personService.getPersonsByAddress("123 Main St")).thenReturn(mockPersons);
+        mockMedicalRecords.forEach(record -> when(medicalRecordService.getMedicalRecord(record.getFirstName(), record.getLastName()))
+                .thenReturn(record));
 
         // Appel de la méthode à tester
         ChildAlertDTO result = childAlertService.getChildrenAtAddress("123 Main St");
@@ -75,12 +77,12 @@ public class ChildAlertServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getChildren().size());
         assertEquals("John", result.getChildren().get(0).getFirstName());
-        assertEquals(10, result.getChildren().get(0).getAge());
+        assertEquals(Period.between(LocalDate.of(2015, 1, 1), LocalDate.now()).getYears(), result.getChildren().get(0).getAge());
 
         assertEquals(2, result.getOtherHouseholdMembers().size());
         assertEquals("Jane", result.getOtherHouseholdMembers().get(0).getFirstName());
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(personService, times(1)).getPersonsByAddress("123 Main St");
+        verify(medicalRecordService, times(2)).getMedicalRecord(anyString(), anyString());
     }
 
     /**
@@ -95,8 +97,9 @@ public class ChildAlertServiceTest {
                 new MedicalRecord("Jane", "Doe", Date.from(LocalDate.of(1975, 12, 25).atStartOfDay(ZoneId.systemDefault()).toInstant()), Collections.emptyList(), Collections.emptyList())
         );
 
-        when(personService.getAllPersons()).thenReturn(mockPersons);
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(mockMedicalRecords);
+        when(personService.getPersonsByAddress("123 Main St")).thenReturn(mockPersons);
+        mockMedicalRecords.forEach(record -> when(medicalRecordService.getMedicalRecord(record.getFirstName(), record.getLastName()))
+                .thenReturn(record));
 
         // Appel de la méthode à tester
         ChildAlertDTO result = childAlertService.getChildrenAtAddress("123 Main St");
@@ -114,7 +117,7 @@ public class ChildAlertServiceTest {
     @Test
     void testGetChildrenAtAddress_InvalidAddress() {
         // Simulation d'une adresse invalide avec une liste vide de personnes
-        when(personService.getAllPersons()).thenReturn(Collections.emptyList());
+        when(personService.getPersonsByAddress("Invalid Address")).thenReturn(Collections.emptyList());
 
         // Appel de la méthode à tester
         ChildAlertDTO result = childAlertService.getChildrenAtAddress("Invalid Address");
@@ -123,8 +126,8 @@ public class ChildAlertServiceTest {
         assertNotNull(result);
         assertTrue(result.getChildren().isEmpty());
         assertTrue(result.getOtherHouseholdMembers().isEmpty());
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(personService, times(1)).getPersonsByAddress("Invalid Address");
+        verify(medicalRecordService, never()).getMedicalRecord(anyString(), anyString());
     }
 
     /**
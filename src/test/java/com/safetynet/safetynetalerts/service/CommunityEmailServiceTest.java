@@ -1,6 +1,7 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.CommunityEmailDTO;
+import com.safetynet.safetynetalerts.json.Dataset;
 import com.safetynet.safetynetalerts.model.Person;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -51,7 +53,7 @@ class CommunityEmailServiceTest {
                 new Person("Jane", "Smith", "la rue", "Paris", "34000", "0102030405", "jane.smith@email.com"),
                 new Person("Mike", "Johnson", "la rue", "Lyon", "34000", "0102030405", "mike.johnson@email.com") // Autre ville
         );
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(personService.getEmailsByCity(city)).thenReturn(indexedEmails(persons, city));
 
         // Act: Appeler la méthode pour obtenir les emails par ville
         CommunityEmailDTO result = communityEmailService.getEmailsByCity(city);
@@ -64,7 +66,7 @@ class CommunityEmailServiceTest {
         assertTrue(result.getEmails().contains("jane.smith@email.com"));
 
         // Vérifie que le service a bien été appelé une fois
-        verify(personService, times(1)).getAllPersons();
+        verify(personService, times(1)).getEmailsByCity(city);
     }
 
     /**
@@ -79,7 +81,7 @@ class CommunityEmailServiceTest {
                 new Person("John", "Doe", "la rue", "Paris", "34000", "0102030405", "john.doe@email.com"),
                 new Person("Jane", "Smith", "la rue", "Lyon", "34000", "0102030405", "jane.smith@email.com")
         );
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(personService.getEmailsByCity(city)).thenReturn(indexedEmails(persons, city));
 
         // Act: Appeler la méthode pour obtenir les emails par ville
         CommunityEmailDTO result = communityEmailService.getEmailsByCity(city);
@@ -90,7 +92,7 @@ class CommunityEmailServiceTest {
         assertTrue(result.getEmails().isEmpty());
 
         // Vérifie que le service a bien été appelé une fois
-        verify(personService, times(1)).getAllPersons();
+        verify(personService, times(1)).getEmailsByCity(city);
     }
 
     /**
@@ -106,7 +108,7 @@ class CommunityEmailServiceTest {
                 new Person("Jane", "Smith", "la rue", "Paris", "34000", "0102030405", ""), // Email vide
                 new Person("Mike", "Brown", "la rue", "Paris", "34000", "0102030405", "mike.brown@email.com") // Email valide
         );
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(personService.getEmailsByCity(city)).thenReturn(indexedEmails(persons, city));
 
         // Act: Appeler la méthode pour obtenir les emails par ville
         CommunityEmailDTO result = communityEmailService.getEmailsByCity(city);
@@ -118,7 +120,7 @@ class CommunityEmailServiceTest {
         assertTrue(result.getEmails().contains("mike.brown@email.com"));
 
         // Vérifie que le service a bien été appelé une fois
-        verify(personService, times(1)).getAllPersons();
+        verify(personService, times(1)).getEmailsByCity(city);
     }
 
     /**
@@ -129,7 +131,7 @@ class CommunityEmailServiceTest {
     void testGetEmailsByCity_WithEmptyPersonList_ReturnsEmptyList() {
         // Arrange: Simuler une liste vide de personnes
         String city = "Paris";
-        when(personService.getAllPersons()).thenReturn(Collections.emptyList());
+        when(personService.getEmailsByCity(city)).thenReturn(indexedEmails(Collections.emptyList(), city));
 
         // Act: Appeler la méthode pour obtenir les emails par ville
         CommunityEmailDTO result = communityEmailService.getEmailsByCity(city);
@@ -140,6 +142,13 @@ class CommunityEmailServiceTest {
         assertTrue(result.getEmails().isEmpty());
 
         // Vérifie que le service a bien été appelé une fois
-        verify(personService, times(1)).getAllPersons();
+        verify(personService, times(1)).getEmailsByCity(city);
     }
-}
\ No newline at end of file
+
+    /**
+     * Calcule les emails que l'index des villes fournirait pour ces personnes.
+     */
+    private static List<String> indexedEmails(List<Person> persons, String city) {
+        return Dataset.of(0, persons, List.of(), List.of(), LocalDate.now()).findEmailsByCity(city);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
@@ -60,8 +61,6 @@ class FireAlertServiceTest {
         FireStation fireStation = new FireStation();
         fireStation.setStation("3");
         fireStation.setAddress(address);
-        List<FireStation> fireStations = new java.util.ArrayList<>();
-        fireStations.add(fireStation);
 
         // Création d'une personne fictive résidant à l'adresse testée
         Person person = new Person();
@@ -86,9 +85,10 @@ class FireAlertServiceTest {
         medicalRecords.add(medicalRecord);
 
         // Configuration des mocks pour simuler les réponses des services
-        when(personService.getAllPersons()).thenReturn(List.of(person));
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(medicalRecords);
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
+        when(personService.getPersonsByAddress(address)).thenReturn(List.of(person));
+        medicalRecords.forEach(record -> when(medicalRecordService.getMedicalRecord(record.getFirstName(), record.getLastName()))
+                .thenReturn(record));
+        when(fireStationService.getStationByAddress(address)).thenReturn(fireStation.getStation());
 
         // Appel de la méthode testée
         FireAlertDTO result = fireAlertService.getFireAlertByAddress(address);
@@ -100,7 +100,7 @@ class FireAlertServiceTest {
         ResidentInfo resident = result.getResidents().get(0);
         assertEquals("John Doe", resident.getFirstName()+" "+resident.getLastName() );
         assertEquals("123-456-7890", resident.getPhone());
-        assertEquals(40, resident.getAge()); // L'âge du résident est calculé en fonction de sa date de naissance
+        assertEquals(Period.between(LocalDate.of(1985, 1, 1), LocalDate.now()).getYears(), resident.getAge()); // L'âge du résident est calculé en fonction de sa date de naissance
         assertEquals(List.of("med1", "med2"), resident.getMedications());
         assertEquals(List.of("allergy1"), resident.getAllergies());
     }
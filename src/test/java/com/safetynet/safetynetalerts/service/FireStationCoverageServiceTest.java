@@ -1,6 +1,7 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.FireStationCoverageDTO;
+import com.safetynet.safetynetalerts.index.Household;
 import com.safetynet.safetynetalerts.model.FireStation;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
@@ -30,8 +31,6 @@ public class FireStationCoverageServiceTest {
     private  FireStationService fireStationService;
     @MockBean
     private PersonService personService;
-    @MockBean
-    private MedicalRecordService medicalRecordService;
     @Autowired
     private FireStationCoverageService fireStationCoverageService;
 
@@ -57,9 +56,6 @@ public class FireStationCoverageServiceTest {
         FireStation fireStation = new FireStation();
         fireStation.setStation("3");
         fireStation.setAddress(address);
-        // Liste simulée de casernes avec une seule caserne spécifiée
-        List<FireStation> fireStations = new java.util.ArrayList<>();
-        fireStations.add(fireStation);
 
         // Création d'une personne fictive à l'adresse de la caserne
         Person person = new Person();
@@ -81,14 +77,11 @@ public class FireStationCoverageServiceTest {
         medicalRecord.setMedications(List.of("med1", "med2"));
         medicalRecord.setAllergies(List.of("allergy1"));
 
-        // Liste simulée contenant le dossier médical de la personne
-        List<MedicalRecord> medicalRecords = new java.util.ArrayList<>();
-        medicalRecords.add(medicalRecord);
-
+        // Foyer précalculé de l'adresse couverte, avec le dossier médical de la personne
+        Household household = Household.of(List.of(person), resident -> medicalRecord, LocalDate.now());
 
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
-        when(personService.getAllPersons()).thenReturn(List.of(person));
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(medicalRecords);
+        when(fireStationService.getAddressesByStation("3")).thenReturn(List.of(fireStation.getAddress()));
+        when(personService.getHouseholds(List.of(address))).thenReturn(List.of(household));
 
         // Résultat retourné par le service pour le numéro de caserne "3"
         FireStationCoverageDTO result = fireStationCoverageService.getCoverageByStationNumber("3");
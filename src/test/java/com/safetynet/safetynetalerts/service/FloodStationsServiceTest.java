@@ -50,15 +50,15 @@ class FloodStationsServiceTest {
                 new FireStation("123 Main St", "1"),
                 new FireStation("456 Elm St", "2")
         );
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
+        fireStations.forEach(fireStation -> when(fireStationService.getAddressesByStation(fireStation.getStation()))
+                .thenReturn(List.of(fireStation.getAddress())));
 
-        // Simule les données des personnes liées aux adresses couvertes par les casernes
+        // Simule les données des personnes habitant aux adresses couvertes par les casernes
         List<Person> persons = Arrays.asList(
                 new Person("John", "Doe", "123 Main St", "City", "11111", "111-111-1111","email1@sfr.fr"),
-                new Person("Jane", "Smith", "456 Elm St", "City", "11111", "222-222-2222","email2@sfr.fr"),
-                new Person("Someone", "Else", "789 Oak St", "City", "11111", "333-333-3333","email2@sfr.fr") // Pas dans une adresse couverte
+                new Person("Jane", "Smith", "456 Elm St", "City", "11111", "222-222-2222","email2@sfr.fr")
         );
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(personService.getPersonsByAddresses(List.of("123 Main St", "456 Elm St"))).thenReturn(persons);
 
         // Simule les dossiers médicaux des personnes
         List<MedicalRecord> medicalRecords = Arrays.asList(
@@ -67,7 +67,8 @@ class FloodStationsServiceTest {
                 new MedicalRecord("Jane", "Smith", new Date(System.currentTimeMillis() - 2000000000L),
                         Collections.emptyList(), List.of("Med3"))
         );
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(medicalRecords);
+        medicalRecords.forEach(record -> when(medicalRecordService.getMedicalRecord(record.getFirstName(), record.getLastName()))
+                .thenReturn(record));
 
         // Appel de la méthode à tester
         List<String> stationNumbers = Arrays.asList("1", "2");
@@ -98,9 +99,33 @@ class FloodStationsServiceTest {
         assertEquals(Collections.emptyList(), household2.get(0).getAllergies());
 
         // Vérifie que les services mockés ont été appelés le nombre de fois attendu
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(fireStationService, times(2)).getAddressesByStation(anyString());
+        verify(personService, times(1)).getPersonsByAddresses(List.of("123 Main St", "456 Elm St"));
+        verify(medicalRecordService, times(2)).getMedicalRecord(anyString(), anyString());
+    }
+
+    /**
+     * Vérifie que les habitants d'une même adresse écrite différemment (casse, espaces) forment un seul foyer,
+     * affiché sous la première forme rencontrée.
+     */
+    @Test
+    void testGetHouseholdsByStations_ShouldGroupByNormalizedAddress() {
+        // Given
+        when(fireStationService.getAddressesByStation("1")).thenReturn(List.of("123 Main St"));
+        List<Person> persons = Arrays.asList(
+                new Person("John", "Doe", "123 Main St", "City", "11111", "111-111-1111", "email1@sfr.fr"),
+                new Person("Jane", "Doe", " 123 MAIN ST", "City", "11111", "222-222-2222", "email2@sfr.fr")
+        );
+        when(personService.getPersonsByAddresses(List.of("123 Main St"))).thenReturn(persons);
+
+        // When
+        FloodStationsDTO result = floodStationsService.getHouseholdsByStations(List.of("1"));
+
+        // Then
+        assertEquals(1, result.getHouseholdsByAddress().size());
+        List<HouseholdInfo> household = result.getHouseholdsByAddress().get("123 Main St");
+        assertNotNull(household);
+        assertEquals(List.of("John", "Jane"), household.stream().map(HouseholdInfo::getFirstName).toList());
     }
 
     /**
@@ -111,7 +136,7 @@ class FloodStationsServiceTest {
     @Test
     void testGetHouseholdsByStations_EmptyResult() {
         // Cas où aucune caserne n'est disponible (liste vide simulée)
-        when(fireStationService.getAllFireStations()).thenReturn(Collections.emptyList());
+        when(fireStationService.getAddressesByStation("1")).thenReturn(Collections.emptyList());
 
         // Appel de la méthode à tester avec les numéros de casernes spécifiés
         // Appel de la méthode à tester avec un numéro de caserne inexistant
@@ -124,8 +149,8 @@ class FloodStationsServiceTest {
         assertTrue(result.getHouseholdsByAddress().isEmpty());
 
         // Vérification des mocks
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(fireStationService, times(1)).getAddressesByStation("1");
+        verify(personService, times(1)).getPersonsByAddresses(Collections.emptyList());
+        verify(medicalRecordService, never()).getMedicalRecord(anyString(), anyString());
     }
 }
\ No newline at end of file
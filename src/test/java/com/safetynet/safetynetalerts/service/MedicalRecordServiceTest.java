@@ -161,4 +161,25 @@ class MedicalRecordServiceTest {
         assertEquals("Jane", result.get(1).getFirstName());
         verify(medicalRecordRepository, times(1)).getMedicalRecords();
     }
-}
\ No newline at end of file
+
+    /**
+     * Test de recherche du dossier médical d'une personne.
+     * Scénario : Le repository trouve le dossier via son index nominatif.
+     * Vérifie que le service renvoie le dossier fourni par le repository, ou null s'il n'existe pas.
+     */
+    @Test
+    void testGetMedicalRecord() throws ParseException {
+        // Préparation des données
+        MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", dateFormat.parse("01/01/2000"), List.of("Aspirin"), List.of("Peanut allergy"));
+        when(medicalRecordRepository.findMedicalRecord("John", "Doe")).thenReturn(medicalRecord);
+
+        // Exécution de l'action
+        MedicalRecord result = medicalRecordService.getMedicalRecord("John", "Doe");
+        MedicalRecord missing = medicalRecordService.getMedicalRecord("Jane", "Smith");
+
+        // Vérification
+        assertSame(medicalRecord, result);
+        assertNull(missing);
+        verify(medicalRecordRepository, times(1)).findMedicalRecord("John", "Doe");
+    }
+}
@@ -1,6 +1,7 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.PersonInfoDTO;
+import com.safetynet.safetynetalerts.json.Dataset;
 import com.safetynet.safetynetalerts.model.MedicalRecord;
 import com.safetynet.safetynetalerts.model.Person;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -54,8 +56,9 @@ class PersonInfoServiceTest {
         MedicalRecord medicalRecord2 = new MedicalRecord("Jane", "Doe", new Date(92, 7, 15),
                 List.of("medA"), List.of("allergA"));
 
-        when(personService.getAllPersons()).thenReturn(Arrays.asList(person1, person2));
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(Arrays.asList(medicalRecord1, medicalRecord2));
+        when(personService.getPersonsByLastName("Doe")).thenReturn(indexedByLastName(Arrays.asList(person1, person2), "Doe"));
+        when(medicalRecordService.getMedicalRecord("John", "Doe")).thenReturn(medicalRecord1);
+        when(medicalRecordService.getMedicalRecord("Jane", "Doe")).thenReturn(medicalRecord2);
 
         // When - Appel de la méthode testée
         List<PersonInfoDTO> result = personInfoService.getPersonInfoByLastName("Doe");
@@ -65,8 +68,8 @@ class PersonInfoServiceTest {
         assertEquals("John", result.get(0).getFirstName());
         assertEquals("Jane", result.get(1).getFirstName());
 
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(personService, times(1)).getPersonsByLastName("Doe");
+        verify(medicalRecordService, times(2)).getMedicalRecord(anyString(), anyString());
     }
 
     /**
@@ -78,16 +81,15 @@ class PersonInfoServiceTest {
         // Given
         Person person = new Person("Jane", "Smith", "456 Elm St", "City", "11111", "222-222-2222","email2@sfr.fr");
 
-        when(personService.getAllPersons()).thenReturn(Collections.singletonList(person));
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(Collections.emptyList());
+        when(personService.getPersonsByLastName("Doe")).thenReturn(indexedByLastName(Collections.singletonList(person), "Doe"));
 
         // When
         List<PersonInfoDTO> result = personInfoService.getPersonInfoByLastName("Doe");
 
         // Then
         assertTrue(result.isEmpty());
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(personService, times(1)).getPersonsByLastName("Doe");
+        verify(medicalRecordService, never()).getMedicalRecord(anyString(), anyString());
     }
 
     /**
@@ -99,8 +101,7 @@ class PersonInfoServiceTest {
         // Given
         Person person = new Person("John", "Doe", "123 Main St", "City", "11111", "111-111-1111", "email1@sfr.fr");
 
-        when(personService.getAllPersons()).thenReturn(Collections.singletonList(person));
-        when(medicalRecordService.getAllMedicalRecords()).thenReturn(Collections.emptyList());
+        when(personService.getPersonsByLastName("Doe")).thenReturn(indexedByLastName(Collections.singletonList(person), "Doe"));
 
         // When
         List<PersonInfoDTO> result = personInfoService.getPersonInfoByLastName("Doe");
@@ -109,8 +110,8 @@ class PersonInfoServiceTest {
         // Vérifie que le résultat n'est pas vide, ce qui est attendu en cas d'absence de dossier médical
         assertFalse(result.isEmpty(), "The result should be empty when there is no medical record for the person");
 
-        verify(personService, times(1)).getAllPersons();
-        verify(medicalRecordService, times(1)).getAllMedicalRecords();
+        verify(personService, times(1)).getPersonsByLastName("Doe");
+        verify(medicalRecordService, times(1)).getMedicalRecord("John", "Doe");
 
     }
 
@@ -129,4 +130,31 @@ class PersonInfoServiceTest {
         // Then
         assertEquals(0, age);
     }
-}
\ No newline at end of file
+
+    /**
+     * Teste la méthode getPersonInfoByLastNamePrefix().
+     * Vérifie que les personnes fournies par la recherche par préfixe sont transformées en DTO.
+     */
+    @Test
+    void testGetPersonInfoByLastNamePrefix() {
+        // Given
+        Person person = new Person("Émile", "Dupré", "1 rue de la Paix", "Paris", "75000", "111-111-1111", "emile@sfr.fr");
+        when(personService.getPersonsByLastNamePrefix("dupr")).thenReturn(List.of(person));
+
+        // When
+        List<PersonInfoDTO> result = personInfoService.getPersonInfoByLastNamePrefix("dupr");
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Dupré", result.get(0).getLastName());
+        assertEquals(0, result.get(0).getAge()); // Aucun dossier médical
+        verify(personService, times(1)).getPersonsByLastNamePrefix("dupr");
+    }
+
+    /**
+     * Calcule les personnes que l'index des noms de famille fournirait pour ces personnes.
+     */
+    private static List<Person> indexedByLastName(List<Person> persons, String lastName) {
+        return Dataset.of(0, persons, List.of(), List.of(), LocalDate.now()).findPersonsByLastName(lastName);
+    }
+}
@@ -1,5 +1,6 @@
 package com.safetynet.safetynetalerts.service;
 
+import com.safetynet.safetynetalerts.index.Household;
 import com.safetynet.safetynetalerts.model.Person;
 import com.safetynet.safetynetalerts.repository.PersonRepository;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -167,4 +169,81 @@ class PersonServiceTest {
         assertEquals(0, result.size());
         verify(personRepository, times(1)).getAllPersons();
     }
-}
\ No newline at end of file
+
+    /**
+     * Teste la méthode getPersonsByAddress.
+     * Vérifie que le service renvoie les habitants fournis par le repository.
+     */
+    @Test
+    void testGetPersonsByAddress() {
+        // Arrange
+        Person person = new Person("John", "Doe", "123 Main St", "City", "12345", "0123456789", "email@example.com");
+        when(personRepository.getPersonsByAddress("123 Main St")).thenReturn(List.of(person));
+
+        // Act
+        List<Person> result = personService.getPersonsByAddress("123 Main St");
+
+        // Assert
+        assertEquals(List.of(person), result);
+        verify(personRepository, times(1)).getPersonsByAddress("123 Main St");
+    }
+
+    /**
+     * Teste la méthode getPersonsByAddresses.
+     * Vérifie que les habitants de chaque adresse sont regroupés et qu'une adresse répétée n'est lue qu'une fois.
+     */
+    @Test
+    void testGetPersonsByAddresses() {
+        // Arrange
+        Person john = new Person("John", "Doe", "123 Main St", "City", "12345", "0123456789", "email@example.com");
+        Person jane = new Person("Jane", "Doe", "456 Elm St", "City", "67890", "0987654321", "email2@example.com");
+        when(personRepository.getPersonsByAddress("123 Main St")).thenReturn(List.of(john));
+        when(personRepository.getPersonsByAddress("456 Elm St")).thenReturn(List.of(jane));
+
+        // Act
+        List<Person> result = personService.getPersonsByAddresses(List.of("123 Main St", "456 Elm St", "123 MAIN ST"));
+
+        // Assert
+        assertEquals(List.of(john, jane), result);
+        verify(personRepository, times(1)).getPersonsByAddress("123 Main St");
+        verify(personRepository, never()).getPersonsByAddress("123 MAIN ST");
+    }
+
+    /**
+     * Teste la méthode getHouseholds.
+     * Vérifie que les foyers sont renvoyés dans l'ordre des adresses et qu'une adresse répétée n'est lue qu'une fois.
+     */
+    @Test
+    void testGetHouseholds() {
+        // Arrange
+        Person john = new Person("John", "Doe", "123 Main St", "City", "12345", "0123456789", "email@example.com");
+        Household household = Household.of(List.of(john), person -> null, LocalDate.now());
+        when(personRepository.getHousehold(eq("123 Main St"), any(LocalDate.class))).thenReturn(household);
+        when(personRepository.getHousehold(eq("456 Elm St"), any(LocalDate.class))).thenReturn(Household.empty());
+
+        // Act
+        List<Household> result = personService.getHouseholds(List.of("123 Main St", "456 Elm St", "123 MAIN ST"));
+
+        // Assert
+        assertEquals(List.of(household, Household.empty()), result);
+        verify(personRepository, times(1)).getHousehold(eq("123 Main St"), any(LocalDate.class));
+        verify(personRepository, never()).getHousehold(eq("123 MAIN ST"), any(LocalDate.class));
+    }
+
+    /**
+     * Teste la méthode getEmailsByCity.
+     * Vérifie que le service renvoie les emails fournis par le repository.
+     */
+    @Test
+    void testGetEmailsByCity() {
+        // Arrange
+        when(personRepository.getEmailsByCity("Culver")).thenReturn(List.of("jaboyd@email.com"));
+
+        // Act
+        List<String> result = personService.getEmailsByCity("Culver");
+
+        // Assert
+        assertEquals(List.of("jaboyd@email.com"), result);
+        verify(personRepository, times(1)).getEmailsByCity("Culver");
+    }
+}
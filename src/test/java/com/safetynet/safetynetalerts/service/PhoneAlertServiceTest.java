@@ -1,16 +1,20 @@
 package com.safetynet.safetynetalerts.service;
 
 import com.safetynet.safetynetalerts.dto.PhoneAlertDTO;
-import com.safetynet.safetynetalerts.model.FireStation;
+import com.safetynet.safetynetalerts.index.Household;
 import com.safetynet.safetynetalerts.model.Person;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.*;
@@ -43,19 +47,14 @@ class PhoneAlertServiceTest {
         // Préparation des données de test
         String stationNumber = "1";
 
-        List<FireStation> fireStations = Arrays.asList(
-                new FireStation("123 Main St", "1"),
-                new FireStation("456 Elm St", "1"),
-                new FireStation("789 Oak St", "2")
-        );
+        List<String> addresses = Arrays.asList("123 Main St", "456 Elm St");
         List<Person> persons = Arrays.asList(
                 new Person("John", "Doe", "123 Main St", "City", "12345", "111-111-1111","email1@sfr.fr"),
-                new Person("Jane", "Doe", "456 Elm St", "City", "12345", "222-222-2222","email1@sfr.fr"),
-                new Person("Jim", "Beam", "789 Oak St", "City", "12345", "333-333-3333","email1@sfr.fr")
+                new Person("Jane", "Doe", "456 Elm St", "City", "12345", "222-222-2222","email1@sfr.fr")
         );
 
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(fireStationService.getAddressesByStation(stationNumber)).thenReturn(addresses);
+        when(personService.getHouseholds(addresses)).thenReturn(households(persons));
 
         // Exécution de la méthode à tester
         PhoneAlertDTO result = phoneAlertService.getPhonesByFireStation(stationNumber);
@@ -63,8 +62,8 @@ class PhoneAlertServiceTest {
         // Assert
         List<String> expectedPhoneNumbers = Arrays.asList("111-111-1111", "222-222-2222");
         assertEquals(expectedPhoneNumbers, result.getPhoneNumbers());
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
+        verify(fireStationService, times(1)).getAddressesByStation(stationNumber);
+        verify(personService, times(1)).getHouseholds(addresses);
     }
 
     /**
@@ -77,27 +76,16 @@ class PhoneAlertServiceTest {
         // Préparation des données de test
         String stationNumber = "3";
 
-        List<FireStation> fireStations = Arrays.asList(
-                new FireStation("123 Main St", "1"),
-                new FireStation("456 Elm St", "1"),
-                new FireStation("789 Oak St", "2")
-        );
-        List<Person> persons = Arrays.asList(
-                new Person("John", "Doe", "123 Main St", "City", "12345", "111-111-1111","email1@sfr.fr"),
-                new Person("Jane", "Doe", "456 Elm St", "City", "12345", "222-222-2222","email1@sfr.fr"),
-                new Person("Jim", "Beam", "789 Oak St", "City", "12345", "333-333-3333","email1@sfr.fr")
-        );
-
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(fireStationService.getAddressesByStation(stationNumber)).thenReturn(Collections.emptyList());
+        when(personService.getHouseholds(Collections.emptyList())).thenReturn(Collections.emptyList());
 
         // Act
         PhoneAlertDTO result = phoneAlertService.getPhonesByFireStation(stationNumber);
 
         // Vérification des résultats
         assertEquals(Collections.emptyList(), result.getPhoneNumbers());
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
+        verify(fireStationService, times(1)).getAddressesByStation(stationNumber);
+        verify(personService, times(1)).getHouseholds(Collections.emptyList());
     }
 
     /**
@@ -110,22 +98,18 @@ class PhoneAlertServiceTest {
         // Préparation des données de test
         String stationNumber = "1";
 
-        List<FireStation> fireStations = Collections.emptyList();
-        List<Person> persons = Arrays.asList(
-                new Person("John", "Doe", "123 Main St", "City", "12345", "111-111-1111","email1@sfr.fr"),
-                new Person("Jane", "Doe", "456 Elm St", "City", "12345", "222-222-2222","email1@sfr.fr")
-        );
+        List<String> addresses = Collections.emptyList();
 
-        given(fireStationService.getAllFireStations()).willReturn(fireStations);
-        given(personService.getAllPersons()).willReturn(persons);
+        given(fireStationService.getAddressesByStation(stationNumber)).willReturn(addresses);
+        given(personService.getHouseholds(addresses)).willReturn(Collections.emptyList());
 
         // Act
         PhoneAlertDTO result = phoneAlertService.getPhonesByFireStation(stationNumber);
 
         // Assert
         assertEquals(Collections.emptyList(), result.getPhoneNumbers());
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
+        verify(fireStationService, times(1)).getAddressesByStation(stationNumber);
+        verify(personService, times(1)).getHouseholds(addresses);
     }
 
     /**
@@ -138,18 +122,15 @@ class PhoneAlertServiceTest {
         // Préparation des données de test
         String stationNumber = "1";
 
-        List<FireStation> fireStations = Arrays.asList(
-                new FireStation("123 Main St", "1"),
-                new FireStation("456 Elm St", "1")
-        );
+        List<String> addresses = Arrays.asList("123 Main St", "456 Elm St");
         List<Person> persons = Arrays.asList(
                 new Person("John", "Doe", "123 Main St", "City", "12345", "111-111-1111","email1@sfr.fr"),
                 new Person("Jane", "Doe", "123 Main St", "City", "12345", "111-111-1111","email1@sfr.fr"),
                 new Person("Jim", "Beam", "456 Elm St", "City", "12345", "222-222-2222","email1@sfr.fr")
         );
 
-        when(fireStationService.getAllFireStations()).thenReturn(fireStations);
-        when(personService.getAllPersons()).thenReturn(persons);
+        when(fireStationService.getAddressesByStation(stationNumber)).thenReturn(addresses);
+        when(personService.getHouseholds(addresses)).thenReturn(households(persons));
 
         // Act
         PhoneAlertDTO result = phoneAlertService.getPhonesByFireStation(stationNumber);
@@ -157,7 +138,18 @@ class PhoneAlertServiceTest {
         // Assert
         List<String> expectedPhoneNumbers = Arrays.asList("111-111-1111", "222-222-2222");
         assertEquals(expectedPhoneNumbers, result.getPhoneNumbers());
-        verify(fireStationService, times(1)).getAllFireStations();
-        verify(personService, times(1)).getAllPersons();
+        verify(fireStationService, times(1)).getAddressesByStation(stationNumber);
+        verify(personService, times(1)).getHouseholds(addresses);
+    }
+
+    /**
+     * Regroupe les personnes par adresse en foyers, comme les foyers précalculés des données.
+     */
+    private static List<Household> households(List<Person> persons) {
+        Map<String, List<Person>> residents = new LinkedHashMap<>();
+        persons.forEach(person -> residents.computeIfAbsent(person.getAddress(), address -> new ArrayList<>()).add(person));
+        return residents.values().stream()
+                .map(group -> Household.of(group, person -> null, LocalDate.now()))
+                .toList();
     }
-}
\ No newline at end of file
+}